@@ -8,6 +8,7 @@ import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.github.javafaker.Faker;
+import com.github.lykmapipo.listview.data.Item;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -65,7 +66,7 @@ public class MainActivity extends AppCompatActivity {
         return contacts;
     }
 
-    class Contact {
+    class Contact implements Item {
         String name;
         String phone;
 
@@ -75,21 +76,25 @@ public class MainActivity extends AppCompatActivity {
         }
 
         @NonNull
+        @Override
         public String getId() {
             return phone;
         }
 
         @NonNull
+        @Override
         public String getName() {
             return name;
         }
 
         @Nullable
+        @Override
         public String getDescription() {
             return phone;
         }
 
         @Nullable
+        @Override
         public String getColor() {
             return null;
         }
@@ -0,0 +1,926 @@
+package com.github.lykmapipo.listview.adapter;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.util.ObjectsCompat;
+import androidx.core.widget.TextViewCompat;
+import androidx.recyclerview.widget.AdapterListUpdateCallback;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.github.lykmapipo.listview.data.Item;
+import com.github.lykmapipo.listview.data.ItemSource;
+import com.github.lykmapipo.listview.data.SectionIndex;
+import com.github.lykmapipo.listview.metrics.ListMetrics;
+import com.github.lykmapipo.listview.view.PrecomputedTextCache;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link RecyclerView.Adapter} of {@link Item} that diff submitted lists on a
+ * background executor and use stable ids derived from {@link Item#getId()}.
+ * <p>
+ * Back to back submissions are coalesced, while a diff is running only the latest
+ * submitted list is kept and diffed next, intermediate lists are dropped.
+ * <p>
+ * When {@link ListMetrics} is enabled create latency, bind latency and diff time are recorded.
+ * <p>
+ * Once {@link #setTextParams(PrecomputedTextCompat.Params, PrecomputedTextCompat.Params)}
+ * is set, item name and description are precomputed on the diff executor in a window
+ * around the last bound position, moved ahead as the list is scrolled, and
+ * {@link #bindName(TextView, Item)}/{@link #bindDescription(TextView, Item)}
+ * attach ready-made text layouts.
+ * <p>
+ * Once {@link #setSectionKeyProvider(SectionIndex.KeyProvider)} is set, a {@link SectionIndex}
+ * is built on the diff executor and updated from first changed position after each diff.
+ * <p>
+ * Lists can also be streamed from an {@link ItemSource} using {@link #submitSource(ItemSource)},
+ * first chunk is displayed as soon as it is read and later chunks are appended in place
+ * within a per frame time budget, without copying or diffing displayed items.
+ *
+ * <pre>
+ * public class ContactAdapter extends ItemListAdapter&lt;Contact, ContactViewHolder&gt; {
+ *
+ *     public ContactViewHolder onCreateItemViewHolder(ViewGroup parent, int viewType) {
+ *         //...
+ *     }
+ *
+ *     public void onBindViewHolder(ContactViewHolder holder, int position) {
+ *         Contact contact = getItem(position);
+ *         //...
+ *     }
+ * }
+ * </pre>
+ *
+ * @param <T>  type of item
+ * @param <VH> type of view holder
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+public abstract class ItemListAdapter<T extends Item, VH extends RecyclerView.ViewHolder>
+        extends RecyclerView.Adapter<VH> {
+
+    private static final int FIELD_NAME = 0;
+    private static final int FIELD_DESCRIPTION = 1;
+    private static final int DEFAULT_TEXT_CACHE_SIZE = 512;
+    private static final int DEFAULT_FIRST_CHUNK_SIZE = 50;
+    private static final int DEFAULT_CHUNK_SIZE = 200;
+    private static final long DEFAULT_FRAME_BUDGET = 4L;
+    private static final int MAX_PENDING_CHUNKS = 2;
+    private static Executor defaultDiffExecutor;
+
+    private final AsyncListDiffer<T> differ;
+    private final Executor diffExecutor;
+    private final ListUpdateCallback updateCallback;
+
+    private boolean diffing = false;
+    private boolean hasPendingList = false;
+    private List<T> pendingList = null;
+    private List<T> diffedList = null;
+
+    // written on diff executor before a diff result is posted
+    private List<T> preparedList = null;
+    private MultiSelection.Positions preparedPositions = null;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private int firstChangedPosition = Integer.MAX_VALUE;
+
+    private SectionIndex.KeyProvider<T> sectionKeyProvider = null;
+    private SectionIndex sectionIndex = SectionIndex.empty();
+    private int sectionDirtyFrom = Integer.MAX_VALUE;
+    private int sectionGeneration = 0;
+    private OnSectionIndexChangedListener onSectionIndexChangedListener = null;
+
+    private MultiSelection<T> selection = null;
+
+    private PrecomputedTextCache textCache = null;
+    private PrecomputedTextCompat.Params nameParams = null;
+    private PrecomputedTextCompat.Params descriptionParams = null;
+    private List<T> precomputedList = null;
+    private int precomputedFrom = 0;
+    private int precomputedTo = 0;
+    private int lastBoundPosition = 0;
+
+    private SourceStream stream = null;
+    private AppendList<T> appendList = null;
+    private int firstChunkSize = DEFAULT_FIRST_CHUNK_SIZE;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private long frameBudgetNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_FRAME_BUDGET);
+
+    public ItemListAdapter() {
+        this(getDefaultDiffExecutor());
+    }
+
+    public ItemListAdapter(@NonNull Executor diffExecutor) {
+        this(diffExecutor, new ItemDiffCallback<>());
+    }
+
+    public ItemListAdapter(
+            @NonNull Executor diffExecutor, @NonNull DiffUtil.ItemCallback<T> diffCallback
+    ) {
+        this.diffExecutor = diffExecutor;
+        this.updateCallback = new UpdateCallback(new AdapterListUpdateCallback(this));
+        this.differ = new AsyncListDiffer<>(
+                updateCallback,
+                new AsyncDifferConfig.Builder<>(diffCallback)
+                        .setBackgroundThreadExecutor(this::executeDiff)
+                        .build()
+        );
+        setHasStableIds(true);
+    }
+
+    /**
+     * Submit a new list to be diffed and displayed
+     *
+     * @param list new list or null to clear
+     * @since 0.5.0
+     */
+    public void submitList(@Nullable List<T> list) {
+        cancelStream();
+        submit(list);
+    }
+
+    /**
+     * Stream a new list from an incremental source.
+     * <p>
+     * First chunk is read on the diff executor and diffed against current list, later
+     * chunks are read while earlier ones are appended. Each frame appends as many items
+     * as fit a frame budget to the displayed list in place and notify their insertion,
+     * background work is given a fixed size view of the items appended so far.
+     * Submitting another list or source cancel the stream and close the source.
+     *
+     * @param source valid item source
+     * @since 0.5.0
+     */
+    public void submitSource(@NonNull ItemSource<T> source) {
+        cancelStream();
+        stream = new SourceStream(source);
+        stream.read(firstChunkSize);
+    }
+
+    /**
+     * Set number of items read per chunk when streaming a source
+     *
+     * @param firstChunkSize number of items displayed first i.e a screenful
+     * @param chunkSize      number of items read per later chunk
+     * @since 0.5.0
+     */
+    public void setStreamChunkSizes(int firstChunkSize, int chunkSize) {
+        this.firstChunkSize = Math.max(1, firstChunkSize);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Set time spent appending streamed items per frame
+     *
+     * @param frameBudget frame budget in milliseconds
+     * @since 0.5.0
+     */
+    public void setStreamFrameBudget(long frameBudget) {
+        this.frameBudgetNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, frameBudget));
+    }
+
+    /**
+     * Check if a submitted source is still being streamed
+     *
+     * @return true if streaming
+     * @since 0.5.0
+     */
+    public boolean isStreaming() {
+        return stream != null;
+    }
+
+    /**
+     * Enable text precomputation of item name and description.
+     * <p>
+     * Params are obtained from row text views i.e
+     * {@code TextViewCompat.getTextMetricsParams(tvName)}, pass null to disable.
+     *
+     * @param nameParams        text params of name view or null
+     * @param descriptionParams text params of description view or null
+     * @since 0.5.0
+     */
+    public void setTextParams(
+            @Nullable PrecomputedTextCompat.Params nameParams,
+            @Nullable PrecomputedTextCompat.Params descriptionParams
+    ) {
+        this.nameParams = nameParams;
+        this.descriptionParams = descriptionParams;
+        if (nameParams == null && descriptionParams == null) {
+            textCache = null;
+        } else if (textCache == null) {
+            textCache = new PrecomputedTextCache(DEFAULT_TEXT_CACHE_SIZE);
+        }
+        precomputedList = null;
+        precomputeTexts(getDisplayedList(), lastBoundPosition);
+    }
+
+    /**
+     * Enable section index using a given key provider i.e
+     * {@link SectionIndex.FirstLetterKeyProvider}, pass null to disable
+     *
+     * @param sectionKeyProvider section key provider or null
+     * @since 0.5.0
+     */
+    public void setSectionKeyProvider(@Nullable SectionIndex.KeyProvider<T> sectionKeyProvider) {
+        this.sectionKeyProvider = sectionKeyProvider;
+        this.sectionIndex = SectionIndex.empty();
+        this.sectionGeneration++;
+        if (sectionKeyProvider != null) {
+            sectionDirtyFrom = 0;
+            updateSections();
+        }
+    }
+
+    /**
+     * Obtain latest section index
+     *
+     * @return {@link SectionIndex}
+     * @since 0.5.0
+     */
+    @NonNull
+    public SectionIndex getSectionIndex() {
+        return sectionIndex;
+    }
+
+    /**
+     * Set callback to invoke on main thread when section index changed
+     *
+     * @param onSectionIndexChangedListener listener or null
+     * @since 0.5.0
+     */
+    public void setOnSectionIndexChangedListener(
+            @Nullable OnSectionIndexChangedListener onSectionIndexChangedListener
+    ) {
+        this.onSectionIndexChangedListener = onSectionIndexChangedListener;
+    }
+
+    /**
+     * Obtain multi-selection of items, created on first use
+     *
+     * @return {@link MultiSelection}
+     * @since 0.5.0
+     */
+    @NonNull
+    public MultiSelection<T> getSelection() {
+        if (selection == null) {
+            selection = new MultiSelection<>(this, snapshotOf(getDisplayedList()));
+        }
+        return selection;
+    }
+
+    /**
+     * Obtain cache of precomputed texts
+     *
+     * @return {@link PrecomputedTextCache} or null if disabled
+     * @since 0.5.0
+     */
+    @Nullable
+    public PrecomputedTextCache getTextCache() {
+        return textCache;
+    }
+
+    /**
+     * Obtain list currently displayed
+     *
+     * @return current list
+     * @since 0.5.0
+     */
+    @NonNull
+    public List<T> getCurrentList() {
+        return differ.getCurrentList();
+    }
+
+    /**
+     * Obtain item at a given position
+     *
+     * @param position adapter position
+     * @return item
+     * @since 0.5.0
+     */
+    public T getItem(int position) {
+        return differ.getCurrentList().get(position);
+    }
+
+    /**
+     * Check if a submitted list is waiting to be diffed or displayed
+     *
+     * @return true if diffing
+     * @since 0.5.0
+     */
+    public boolean isDiffing() {
+        return diffing;
+    }
+
+    /**
+     * Create item view holder
+     *
+     * @param parent   parent view group
+     * @param viewType item view type
+     * @return item view holder
+     * @since 0.5.0
+     */
+    @NonNull
+    public abstract VH onCreateItemViewHolder(@NonNull ViewGroup parent, int viewType);
+
+    @NonNull
+    @Override
+    public VH onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        ListMetrics metrics = ListMetrics.getInstance();
+        long start = metrics.start();
+        VH holder = onCreateItemViewHolder(parent, viewType);
+        metrics.recordCreate(viewType, start);
+        return holder;
+    }
+
+    @Override
+    public int getItemCount() {
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return stableIdOf(getItem(position).getId());
+    }
+
+    @Override
+    public void onBindViewHolder(
+            @NonNull VH holder, int position, @NonNull List<Object> payloads
+    ) {
+        lastBoundPosition = position;
+        precomputeTexts(getDisplayedList(), position);
+
+        ListMetrics metrics = ListMetrics.getInstance();
+        long start = metrics.start();
+        super.onBindViewHolder(holder, position, payloads);
+        metrics.recordBind(holder.getItemViewType(), start);
+    }
+
+    /**
+     * Bind item name, using precomputed text if ready
+     *
+     * @param view name text view
+     * @param item item to bind
+     * @since 0.5.0
+     */
+    protected void bindName(@NonNull TextView view, @NonNull T item) {
+        bindText(view, item.getId(), FIELD_NAME, item.getName(), nameParams);
+    }
+
+    /**
+     * Bind item description, using precomputed text if ready
+     *
+     * @param view description text view
+     * @param item item to bind
+     * @since 0.5.0
+     */
+    protected void bindDescription(@NonNull TextView view, @NonNull T item) {
+        bindText(view, item.getId(), FIELD_DESCRIPTION, item.getDescription(), descriptionParams);
+    }
+
+    /**
+     * Called on main thread once a submitted list is displayed
+     *
+     * @param list displayed list
+     * @since 0.5.0
+     */
+    protected void onCurrentListChanged(@NonNull List<T> list) {
+    }
+
+    /**
+     * Called on main thread once a submitted source is fully displayed or failed
+     *
+     * @param itemCount number of displayed items
+     * @param error     read error or null
+     * @since 0.5.0
+     */
+    protected void onStreamFinished(int itemCount, @Nullable Exception error) {
+    }
+
+    /**
+     * Obtain executor used to diff submitted lists
+     *
+     * @return diff executor
+     * @since 0.5.0
+     */
+    @NonNull
+    protected Executor getDiffExecutor() {
+        return diffExecutor;
+    }
+
+    private void submit(@Nullable List<T> list) {
+        // coalesce, keep only latest list while diffing
+        if (diffing) {
+            pendingList = list;
+            hasPendingList = true;
+            return;
+        }
+
+        diffing = true;
+        diffedList = list;
+        precomputeTexts(list, lastBoundPosition);
+        differ.submitList(list, () -> onListCommitted(list));
+    }
+
+    private void cancelStream() {
+        if (stream != null) {
+            stream.cancel();
+            stream = null;
+        }
+    }
+
+    private void updateSections() {
+        SectionIndex.KeyProvider<T> keyProvider = sectionKeyProvider;
+        if (keyProvider == null || sectionDirtyFrom == Integer.MAX_VALUE) {
+            return;
+        }
+
+        final List<T> list = snapshotOf(getDisplayedList());
+        final SectionIndex previous = sectionIndex;
+        final int from = sectionDirtyFrom;
+        final int generation = ++sectionGeneration;
+        diffExecutor.execute(() -> {
+            SectionIndex index = SectionIndex.update(previous, list, from, keyProvider);
+            mainHandler.post(() -> {
+                // drop outdated index
+                if (generation != sectionGeneration) {
+                    return;
+                }
+                sectionIndex = index;
+                sectionDirtyFrom = Integer.MAX_VALUE;
+                if (onSectionIndexChangedListener != null) {
+                    onSectionIndexChangedListener.onSectionIndexChanged(index);
+                }
+            });
+        });
+    }
+
+    private void bindText(
+            TextView view, String id, int field,
+            CharSequence text, PrecomputedTextCompat.Params params
+    ) {
+        PrecomputedTextCache cache = textCache;
+        if (cache != null && params != null && text != null) {
+            PrecomputedTextCompat precomputed = cache.get(id, field, text, params);
+            if (precomputed != null) {
+                try {
+                    TextViewCompat.setPrecomputedText(view, precomputed);
+                    return;
+                } catch (IllegalArgumentException e) {
+                    // view text params differ from precomputed ones
+                }
+            }
+        }
+        view.setText(text);
+    }
+
+    private void precomputeTexts(List<T> list, int position) {
+        PrecomputedTextCache cache = textCache;
+        PrecomputedTextCompat.Params nameParams = this.nameParams;
+        PrecomputedTextCompat.Params descriptionParams = this.descriptionParams;
+        if (cache == null || list == null || list.isEmpty()) {
+            return;
+        }
+
+        // window of half the cache, so bound items stay cached
+        int fields = (nameParams != null ? 1 : 0) + (descriptionParams != null ? 1 : 0);
+        int window = Math.max(1, cache.maxSize() / fields / 2);
+        int size = list.size();
+        position = Math.max(0, Math.min(position, size - 1));
+
+        // still a quarter window ahead of both ends of precomputed range
+        int margin = window / 4;
+        if (list == precomputedList
+                && (precomputedFrom == 0 || position - precomputedFrom >= margin)
+                && (precomputedTo == size || precomputedTo - position >= margin)) {
+            return;
+        }
+
+        int from = Math.max(0, Math.min(position - window / 2, size - window));
+        int to = Math.min(size, from + window);
+        precomputedList = list;
+        precomputedFrom = from;
+        precomputedTo = to;
+
+        // precompute from position outwards, items ahead first
+        final int start = position;
+        final List<T> items = snapshotOf(list);
+        diffExecutor.execute(() -> {
+            for (int i = start; i < to; i++) {
+                precomputeText(cache, items.get(i), nameParams, descriptionParams);
+            }
+            for (int i = start - 1; i >= from; i--) {
+                precomputeText(cache, items.get(i), nameParams, descriptionParams);
+            }
+        });
+    }
+
+    private static <T extends Item> void precomputeText(
+            PrecomputedTextCache cache, T item,
+            PrecomputedTextCompat.Params nameParams,
+            PrecomputedTextCompat.Params descriptionParams
+    ) {
+        if (nameParams != null) {
+            cache.precompute(item.getId(), FIELD_NAME, item.getName(), nameParams);
+        }
+        String description = item.getDescription();
+        if (descriptionParams != null && description != null) {
+            cache.precompute(item.getId(), FIELD_DESCRIPTION, description, descriptionParams);
+        }
+    }
+
+    private void executeDiff(Runnable diff) {
+        ListMetrics metrics = ListMetrics.getInstance();
+        boolean timed = metrics.isEnabled();
+        List<T> list = selection != null ? diffedList : null;
+        diffExecutor.execute(() -> {
+            // prepare selection positions alongside the diff, before its result is posted
+            if (list != null) {
+                preparedPositions = MultiSelection.Positions.of(list);
+                preparedList = list;
+            }
+
+            // time diff computation
+            if (!timed) {
+                diff.run();
+                return;
+            }
+            long start = metrics.start();
+            diff.run();
+            metrics.recordDiff(start);
+        });
+    }
+
+    private void onListCommitted(List<T> committed) {
+        diffing = false;
+        appendList = committed instanceof AppendList ? (AppendList<T>) committed : null;
+
+        // swap selection positions, prepared unless differ committed without diffing
+        MultiSelection.Positions positions = preparedList == committed ? preparedPositions : null;
+        preparedList = null;
+        preparedPositions = null;
+        if (selection != null && firstChangedPosition != Integer.MAX_VALUE) {
+            selection.onListChanged(snapshotOf(getDisplayedList()), positions);
+        }
+        onListUpdated();
+
+        // append next streamed chunks
+        if (stream != null && stream.list == committed) {
+            stream.onCommitted();
+        }
+
+        // diff latest pending list
+        if (hasPendingList) {
+            List<T> list = pendingList;
+            pendingList = null;
+            hasPendingList = false;
+            submit(list);
+        }
+    }
+
+    private void onItemsAppended(int position, int count) {
+        updateCallback.onInserted(position, count);
+        if (selection != null) {
+            selection.onItemsAppended(appendList.snapshot(), position);
+        }
+        onListUpdated();
+        precomputeTexts(appendList, lastBoundPosition);
+    }
+
+    private void onListUpdated() {
+        // update sections from first changed position
+        if (firstChangedPosition != Integer.MAX_VALUE) {
+            sectionDirtyFrom = Math.min(sectionDirtyFrom, firstChangedPosition);
+            firstChangedPosition = Integer.MAX_VALUE;
+            updateSections();
+        }
+
+        onCurrentListChanged(getCurrentList());
+    }
+
+    private List<T> getDisplayedList() {
+        return appendList != null ? appendList : getCurrentList();
+    }
+
+    private static <T> List<T> snapshotOf(List<T> list) {
+        // streamed list grow in place, background work read a fixed size view
+        return list instanceof AppendList ? ((AppendList<T>) list).snapshot() : list;
+    }
+
+    private static void closeQuietly(ItemSource<?> source) {
+        try {
+            source.close();
+        } catch (IOException | RuntimeException e) {
+            // ignore
+        }
+    }
+
+    /**
+     * Derive a 64 bit stable id from item id using FNV-1a
+     *
+     * @param id item id
+     * @return stable id
+     * @since 0.5.0
+     */
+    public static long stableIdOf(@NonNull String id) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            hash ^= id.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static synchronized Executor getDefaultDiffExecutor() {
+        if (defaultDiffExecutor == null) {
+            defaultDiffExecutor = Executors.newFixedThreadPool(2);
+        }
+        return defaultDiffExecutor;
+    }
+
+    /**
+     * Receive section index changes
+     *
+     * @since 0.5.0
+     */
+    public interface OnSectionIndexChangedListener {
+
+        /**
+         * Called on main thread once section index was updated
+         *
+         * @param sectionIndex latest section index
+         * @since 0.5.0
+         */
+        void onSectionIndexChanged(@NonNull SectionIndex sectionIndex);
+    }
+
+    /**
+     * Read a source chunk by chunk on the diff executor and append items to displayed
+     * list within a per frame time budget
+     */
+    private final class SourceStream implements Choreographer.FrameCallback {
+        private final ItemSource<T> source;
+        private final ArrayDeque<List<T>> chunks = new ArrayDeque<>();
+
+        private volatile boolean cancelled = false;
+        private boolean reading = false;
+        private boolean closed = false;
+        private boolean exhausted = false;
+        private boolean committed = false;
+        private boolean frameScheduled = false;
+        private Exception error = null;
+
+        private AppendList<T> list = null;
+        private int chunkOffset = 0;
+        private long notifyNanos = 0;
+
+        SourceStream(ItemSource<T> source) {
+            this.source = source;
+        }
+
+        void read(int count) {
+            reading = true;
+            diffExecutor.execute(() -> {
+                ArrayList<T> chunk = new ArrayList<>(count);
+                boolean more = false;
+                Exception failure = null;
+                if (!cancelled) {
+                    try {
+                        more = source.read(chunk, count);
+                    } catch (IOException | RuntimeException e) {
+                        failure = e;
+                    }
+                }
+
+                // close once exhausted, failed or cancelled
+                boolean done = cancelled || !more;
+                if (done) {
+                    closeQuietly(source);
+                }
+
+                boolean hasMore = more;
+                Exception readError = failure;
+                mainHandler.post(() -> onChunk(chunk, hasMore, done, readError));
+            });
+        }
+
+        void onCommitted() {
+            committed = true;
+            scheduleFrame();
+            finishIfDone();
+        }
+
+        void cancel() {
+            cancelled = true;
+            chunks.clear();
+            if (frameScheduled) {
+                Choreographer.getInstance().removeFrameCallback(this);
+                frameScheduled = false;
+            }
+            if (!reading && !closed) {
+                closed = true;
+                diffExecutor.execute(() -> closeQuietly(source));
+            }
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            frameScheduled = false;
+            if (cancelled) {
+                return;
+            }
+
+            // leave room in budget for notifying appended items
+            long deadline = System.nanoTime() + frameBudgetNanos - notifyNanos;
+            int position = list.size();
+            do {
+                List<T> chunk = chunks.peekFirst();
+                list.append(chunk.get(chunkOffset++));
+                if (chunkOffset == chunk.size()) {
+                    chunks.pollFirst();
+                    chunkOffset = 0;
+                }
+            } while (!chunks.isEmpty() && System.nanoTime() < deadline);
+
+            long appended = System.nanoTime();
+            onItemsAppended(position, list.size() - position);
+            notifyNanos = Math.min(frameBudgetNanos / 2, System.nanoTime() - appended);
+
+            readNext();
+            scheduleFrame();
+            finishIfDone();
+        }
+
+        private void onChunk(ArrayList<T> chunk, boolean more, boolean done, Exception failure) {
+            reading = false;
+            closed = done;
+            if (cancelled) {
+                if (!closed) {
+                    closed = true;
+                    diffExecutor.execute(() -> closeQuietly(source));
+                }
+                return;
+            }
+            exhausted = !more;
+            error = failure;
+
+            // show first chunk, keep previous list if first read failed
+            if (list == null) {
+                if (failure != null) {
+                    finishIfDone();
+                    return;
+                }
+                list = new AppendList<>(chunk);
+                submit(list);
+            } else if (!chunk.isEmpty()) {
+                chunks.addLast(chunk);
+            }
+
+            readNext();
+            scheduleFrame();
+            finishIfDone();
+        }
+
+        private void readNext() {
+            // bound chunks read ahead
+            if (!exhausted && !reading && chunks.size() < MAX_PENDING_CHUNKS) {
+                read(chunkSize);
+            }
+        }
+
+        private void scheduleFrame() {
+            if (committed && !frameScheduled && !chunks.isEmpty()) {
+                Choreographer.getInstance().postFrameCallback(this);
+                frameScheduled = true;
+            }
+        }
+
+        private void finishIfDone() {
+            boolean displayed = list == null || committed;
+            if (stream != this || !exhausted || reading || !chunks.isEmpty() || !displayed) {
+                return;
+            }
+            stream = null;
+            onStreamFinished(getItemCount(), error);
+        }
+    }
+
+    /**
+     * A list grown in place by a stream, only appended on main thread once displayed.
+     * Snapshots share its elements but keep their size, appends never write below it
+     * and a grown list copy elements to a new array.
+     */
+    private static final class AppendList<T> extends AbstractList<T> implements RandomAccess {
+        private Object[] elements;
+        private int size;
+
+        AppendList(List<T> items) {
+            this(items.toArray(), items.size());
+        }
+
+        private AppendList(Object[] elements, int size) {
+            this.elements = elements;
+            this.size = size;
+        }
+
+        void append(T item) {
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, Math.max(16, size + (size >> 1)));
+            }
+            elements[size++] = item;
+        }
+
+        AppendList<T> snapshot() {
+            return new AppendList<>(elements, size);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return (T) elements[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Track first changed position of applied diffs
+     */
+    private final class UpdateCallback implements ListUpdateCallback {
+        private final ListUpdateCallback callback;
+
+        UpdateCallback(ListUpdateCallback callback) {
+            this.callback = callback;
+        }
+
+        @Override
+        public void onInserted(int position, int count) {
+            firstChangedPosition = Math.min(firstChangedPosition, position);
+            callback.onInserted(position, count);
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            firstChangedPosition = Math.min(firstChangedPosition, position);
+            callback.onRemoved(position, count);
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            firstChangedPosition = Math.min(firstChangedPosition, Math.min(fromPosition, toPosition));
+            callback.onMoved(fromPosition, toPosition);
+        }
+
+        @Override
+        public void onChanged(int position, int count, @Nullable Object payload) {
+            firstChangedPosition = Math.min(firstChangedPosition, position);
+            callback.onChanged(position, count, payload);
+        }
+    }
+
+    /**
+     * Default {@link Item} diff callback
+     *
+     * @param <T> type of item
+     * @since 0.5.0
+     */
+    public static class ItemDiffCallback<T extends Item> extends DiffUtil.ItemCallback<T> {
+
+        @Override
+        public boolean areItemsTheSame(@NonNull T oldItem, @NonNull T newItem) {
+            return oldItem.getId().equals(newItem.getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull T oldItem, @NonNull T newItem) {
+            return oldItem.getName().equals(newItem.getName())
+                    && ObjectsCompat.equals(oldItem.getDescription(), newItem.getDescription())
+                    && ObjectsCompat.equals(oldItem.getColor(), newItem.getColor());
+        }
+    }
+}
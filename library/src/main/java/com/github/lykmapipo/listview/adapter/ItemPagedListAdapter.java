@@ -0,0 +1,236 @@
+package com.github.lykmapipo.listview.adapter;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.appcompat.widget.AppCompatTextView;
+import androidx.core.widget.ContentLoadingProgressBar;
+import androidx.paging.PagedListAdapter;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.github.lykmapipo.listview.R;
+import com.github.lykmapipo.listview.data.Item;
+import com.github.lykmapipo.listview.data.LoadState;
+import com.github.lykmapipo.listview.metrics.ListMetrics;
+import com.google.android.material.button.MaterialButton;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * A {@link PagedListAdapter} of {@link Item} that display an inline loading/retry
+ * footer while appending pages.
+ * <p>
+ * Subclasses create and bind item rows using {@link #onCreateItemViewHolder(ViewGroup, int)}
+ * and {@link #onBindItemViewHolder(RecyclerView.ViewHolder, Item, int)}, footer is handled
+ * internally and driven by {@link #setAppendLoadState(LoadState)}.
+ *
+ * @param <T>  type of item
+ * @param <VH> type of item view holder
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+public abstract class ItemPagedListAdapter<T extends Item, VH extends RecyclerView.ViewHolder>
+        extends PagedListAdapter<T, RecyclerView.ViewHolder> {
+
+    /**
+     * View type used by append load state footer
+     */
+    public static final int VIEW_TYPE_FOOTER = R.layout.load_state_footer;
+
+    private LoadState appendLoadState = LoadState.LOADED;
+    private View.OnClickListener retryClickListener;
+    private final Set<RecyclerView.ViewHolder> placeholders =
+            Collections.newSetFromMap(new WeakHashMap<>());
+    private int stallCount = 0;
+
+    public ItemPagedListAdapter() {
+        this(new ItemListAdapter.ItemDiffCallback<>());
+    }
+
+    public ItemPagedListAdapter(@NonNull DiffUtil.ItemCallback<T> diffCallback) {
+        super(diffCallback);
+    }
+
+    /**
+     * Create item view holder
+     *
+     * @param parent   parent view group
+     * @param viewType item view type
+     * @return item view holder
+     * @since 0.5.0
+     */
+    @NonNull
+    public abstract VH onCreateItemViewHolder(@NonNull ViewGroup parent, int viewType);
+
+    /**
+     * Bind item view holder
+     *
+     * @param holder   item view holder
+     * @param item     item or null if placeholder
+     * @param position adapter position
+     * @since 0.5.0
+     */
+    public abstract void onBindItemViewHolder(@NonNull VH holder, @Nullable T item, int position);
+
+    /**
+     * Obtain item view type
+     *
+     * @param position adapter position
+     * @return item view type
+     * @since 0.5.0
+     */
+    public int getItemViewTypeAt(int position) {
+        return 0;
+    }
+
+    /**
+     * Set append load state and update footer
+     *
+     * @param state append load state
+     * @since 0.5.0
+     */
+    public void setAppendLoadState(@NonNull LoadState state) {
+        boolean hadFooter = hasFooter();
+        appendLoadState = state;
+        boolean hasFooter = hasFooter();
+
+        int footerPosition = super.getItemCount();
+        if (hadFooter && !hasFooter) {
+            notifyItemRemoved(footerPosition);
+        } else if (!hadFooter && hasFooter) {
+            notifyItemInserted(footerPosition);
+        } else if (hasFooter) {
+            notifyItemChanged(footerPosition);
+        }
+    }
+
+    /**
+     * Obtain append load state
+     *
+     * @return append load state
+     * @since 0.5.0
+     */
+    @NonNull
+    public LoadState getAppendLoadState() {
+        return appendLoadState;
+    }
+
+    /**
+     * Set callback to invoke when footer retry clicked
+     *
+     * @param retryClickListener retry click listener
+     * @since 0.5.0
+     */
+    public void setOnRetryClickListener(@Nullable View.OnClickListener retryClickListener) {
+        this.retryClickListener = retryClickListener;
+    }
+
+    /**
+     * Obtain number of times a placeholder reached the viewport before its
+     * page was loaded i.e to tune prefetch. Always zero unless placeholders are enabled
+     * with a data source that report total count.
+     *
+     * @return stall count
+     * @since 0.5.0
+     */
+    public int getStallCount() {
+        return stallCount;
+    }
+
+    @Override
+    public int getItemCount() {
+        return super.getItemCount() + (hasFooter() ? 1 : 0);
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        if (hasFooter() && position == super.getItemCount()) {
+            return VIEW_TYPE_FOOTER;
+        }
+        return getItemViewTypeAt(position);
+    }
+
+    @NonNull
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        if (viewType == VIEW_TYPE_FOOTER) {
+            View view = LayoutInflater.from(parent.getContext())
+                    .inflate(R.layout.load_state_footer, parent, false);
+            return new LoadStateViewHolder(view);
+        }
+        ListMetrics metrics = ListMetrics.getInstance();
+        long start = metrics.start();
+        VH holder = onCreateItemViewHolder(parent, viewType);
+        metrics.recordCreate(viewType, start);
+        return holder;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        if (holder instanceof LoadStateViewHolder) {
+            ((LoadStateViewHolder) holder).bind(appendLoadState, retryClickListener);
+            return;
+        }
+        T item = getItem(position);
+        if (item == null) {
+            placeholders.add(holder);
+        } else {
+            placeholders.remove(holder);
+        }
+        ListMetrics metrics = ListMetrics.getInstance();
+        long start = metrics.start();
+        onBindItemViewHolder((VH) holder, item, position);
+        metrics.recordBind(holder.getItemViewType(), start);
+    }
+
+    @Override
+    public void onViewAttachedToWindow(@NonNull RecyclerView.ViewHolder holder) {
+        super.onViewAttachedToWindow(holder);
+        if (placeholders.contains(holder)) {
+            stallCount++;
+        }
+    }
+
+    private boolean hasFooter() {
+        return appendLoadState == LoadState.LOADING
+                || appendLoadState == LoadState.ERROR
+                || appendLoadState == LoadState.OFFLINE;
+    }
+
+    /**
+     * View holder of append load state footer
+     *
+     * @since 0.5.0
+     */
+    public static class LoadStateViewHolder extends RecyclerView.ViewHolder {
+
+        private final ContentLoadingProgressBar pbLoadStateFooterProgress;
+        private final AppCompatTextView tvLoadStateFooterMessage;
+        private final MaterialButton btnLoadStateFooterRetry;
+
+        LoadStateViewHolder(@NonNull View itemView) {
+            super(itemView);
+            pbLoadStateFooterProgress = itemView.findViewById(R.id.pbLoadStateFooterProgress);
+            tvLoadStateFooterMessage = itemView.findViewById(R.id.tvLoadStateFooterMessage);
+            btnLoadStateFooterRetry = itemView.findViewById(R.id.btnLoadStateFooterRetry);
+        }
+
+        void bind(@NonNull LoadState state, @Nullable View.OnClickListener retryClickListener) {
+            boolean loading = state == LoadState.LOADING;
+            pbLoadStateFooterProgress.setVisibility(loading ? View.VISIBLE : View.GONE);
+            tvLoadStateFooterMessage.setVisibility(loading ? View.GONE : View.VISIBLE);
+            btnLoadStateFooterRetry.setVisibility(loading ? View.GONE : View.VISIBLE);
+            tvLoadStateFooterMessage.setText(state == LoadState.OFFLINE
+                    ? R.string.text_append_offline_message
+                    : R.string.text_append_error_message);
+            btnLoadStateFooterRetry.setOnClickListener(retryClickListener);
+        }
+    }
+}
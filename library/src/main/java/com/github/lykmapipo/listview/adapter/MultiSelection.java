@@ -0,0 +1,489 @@
+package com.github.lykmapipo.listview.adapter;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.github.lykmapipo.listview.data.Item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A compact multi-selection of {@link ItemListAdapter} items.
+ * <p>
+ * Selection is a bitset over positions, so select all, invert and range operations
+ * cost O(n/64) and a selected item cost one bit. An id to position map of 64 bit stable
+ * ids is built on the diff executor alongside each diff, or extended with appended items,
+ * and selection follow its items to their new positions.
+ * Selected items missing from a list i.e filtered out are remembered by id and selected
+ * again once they are back.
+ * <p>
+ * Rows whose selected state changed are rebound with {@link #PAYLOAD_SELECTION} payload
+ * only, handle it in {@code onBindViewHolder(holder, position, payloads)} to update
+ * checked state without a full bind:
+ *
+ * <pre>
+ * public void onBindViewHolder(ContactViewHolder holder, int position, List&lt;Object&gt; payloads) {
+ *     if (payloads.contains(MultiSelection.PAYLOAD_SELECTION)) {
+ *         holder.setChecked(getSelection().isSelected(position));
+ *         return;
+ *     }
+ *     super.onBindViewHolder(holder, position, payloads);
+ * }
+ * </pre>
+ *
+ * @param <T> type of item
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+public final class MultiSelection<T extends Item> {
+
+    /**
+     * Payload of rebinds caused by selection changes
+     */
+    public static final Object PAYLOAD_SELECTION = new Object();
+
+    private static final long[] NO_IDS = new long[0];
+
+    private final ItemListAdapter<T, ?> adapter;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private BitSet selected = new BitSet();
+    private int size = 0;
+    private Positions positions = null;
+    private List<T> pendingList = null;
+    private int generation = 0;
+    private long[] detached = NO_IDS;
+    private OnSelectionChangedListener onSelectionChangedListener;
+
+    MultiSelection(@NonNull ItemListAdapter<T, ?> adapter, @NonNull List<T> list) {
+        this.adapter = adapter;
+        onListChanged(list, null);
+    }
+
+    /**
+     * Set callback to invoke when selection changed
+     *
+     * @param onSelectionChangedListener listener or null
+     * @since 0.5.0
+     */
+    public void setOnSelectionChangedListener(
+            @Nullable OnSelectionChangedListener onSelectionChangedListener
+    ) {
+        this.onSelectionChangedListener = onSelectionChangedListener;
+    }
+
+    /**
+     * Check if item at a position is selected
+     *
+     * @param position adapter position
+     * @return true if selected
+     * @since 0.5.0
+     */
+    public boolean isSelected(int position) {
+        return selected.get(position);
+    }
+
+    /**
+     * Check if item with a given id is selected
+     *
+     * @param id item id
+     * @return true if selected
+     * @since 0.5.0
+     */
+    public boolean isSelected(@NonNull String id) {
+        long stableId = ItemListAdapter.stableIdOf(id);
+        int position = positionOf(stableId);
+        return position >= 0 ? selected.get(position) : Arrays.binarySearch(detached, stableId) >= 0;
+    }
+
+    /**
+     * Select or deselect item at a position
+     *
+     * @param position adapter position
+     * @param select   true to select
+     * @since 0.5.0
+     */
+    public void setSelected(int position, boolean select) {
+        checkPosition(position);
+        if (selected.get(position) != select) {
+            selected.set(position, select);
+            adapter.notifyItemChanged(position, PAYLOAD_SELECTION);
+            notifySelectionChanged();
+        }
+    }
+
+    /**
+     * Toggle selection of item at a position
+     *
+     * @param position adapter position
+     * @since 0.5.0
+     */
+    public void toggle(int position) {
+        setSelected(position, !selected.get(position));
+    }
+
+    /**
+     * Select or deselect items in a range
+     *
+     * @param fromPosition first position, inclusive
+     * @param toPosition   last position, exclusive
+     * @param select       true to select
+     * @since 0.5.0
+     */
+    public void setRangeSelected(int fromPosition, int toPosition, boolean select) {
+        int from = Math.max(0, fromPosition);
+        int to = Math.min(size, toPosition);
+        if (from >= to) {
+            return;
+        }
+        BitSet before = (BitSet) selected.clone();
+        selected.set(from, to, select);
+        notifyChanges(before);
+    }
+
+    /**
+     * Select all items
+     *
+     * @since 0.5.0
+     */
+    public void selectAll() {
+        setRangeSelected(0, size, true);
+    }
+
+    /**
+     * Invert selection of all items
+     *
+     * @since 0.5.0
+     */
+    public void invert() {
+        if (size == 0) {
+            return;
+        }
+        BitSet before = (BitSet) selected.clone();
+        selected.flip(0, size);
+        notifyChanges(before);
+    }
+
+    /**
+     * Deselect all items, including remembered ones
+     *
+     * @since 0.5.0
+     */
+    public void clear() {
+        detached = NO_IDS;
+        BitSet before = (BitSet) selected.clone();
+        selected.clear();
+        notifyChanges(before);
+    }
+
+    /**
+     * Obtain number of selected items in current list
+     *
+     * @return selected count
+     * @since 0.5.0
+     */
+    public int getSelectedCount() {
+        return selected.cardinality();
+    }
+
+    /**
+     * Obtain positions of selected items
+     *
+     * @return ascending positions
+     * @since 0.5.0
+     */
+    @NonNull
+    public int[] getSelectedPositions() {
+        int[] positions = new int[selected.cardinality()];
+        int count = 0;
+        for (int i = selected.nextSetBit(0); i >= 0; i = selected.nextSetBit(i + 1)) {
+            positions[count++] = i;
+        }
+        return positions;
+    }
+
+    /**
+     * Obtain selected items of current list
+     *
+     * @return selected items
+     * @since 0.5.0
+     */
+    @NonNull
+    public List<T> getSelectedItems() {
+        List<T> list = adapter.getCurrentList();
+        List<T> items = new ArrayList<>(selected.cardinality());
+        for (int i = selected.nextSetBit(0); i >= 0; i = selected.nextSetBit(i + 1)) {
+            items.add(list.get(i));
+        }
+        return items;
+    }
+
+    void onListChanged(@NonNull List<T> list, @Nullable Positions prepared) {
+        // selected positions are moved using previous ids
+        Positions previousPositions = selected.isEmpty() ? null : requirePositions();
+        BitSet previous = selected;
+        long[] previousDetached = detached;
+        generation++;
+        size = list.size();
+        pendingList = null;
+
+        // swap ids prepared alongside the diff, build them here only if selection must move
+        if (prepared != null && prepared.size == size) {
+            positions = prepared;
+        } else if (previousPositions != null || size == 0) {
+            positions = Positions.of(list);
+        } else {
+            positions = null;
+            buildPositions(list);
+        }
+
+        // remembered ids are selected again once positions are built
+        if (positions == null || (previous.isEmpty() && previousDetached.length == 0)) {
+            selected = new BitSet(size);
+            return;
+        }
+
+        // move selection to new positions, remember missing ids
+        BitSet moved = new BitSet(size);
+        long[] missing = new long[previous.cardinality() + previousDetached.length];
+        int missingCount = 0;
+        for (int i = previous.nextSetBit(0); i >= 0; i = previous.nextSetBit(i + 1)) {
+            long id = previousPositions.ids[i];
+            int position = positions.positionOf(id);
+            if (position >= 0) {
+                moved.set(position);
+            } else {
+                missing[missingCount++] = id;
+            }
+        }
+        for (long id : previousDetached) {
+            int position = positions.positionOf(id);
+            if (position >= 0) {
+                moved.set(position);
+            } else {
+                missing[missingCount++] = id;
+            }
+        }
+        detached = Arrays.copyOf(missing, missingCount);
+        Arrays.sort(detached);
+
+        boolean changed = previous.cardinality() != moved.cardinality();
+        selected = moved;
+        if (changed) {
+            notifySelectionChanged();
+        }
+    }
+
+    void onItemsAppended(@NonNull List<T> list, int position) {
+        // positions of displayed items are unchanged, only add appended ids
+        size = list.size();
+        if (positions == null) {
+            pendingList = list;
+            return;
+        }
+        positions.append(list, position);
+        attachDetached();
+    }
+
+    private void notifyChanges(BitSet before) {
+        // rebind changed runs with selection payload only
+        before.xor(selected);
+        if (before.isEmpty()) {
+            return;
+        }
+        for (int start = before.nextSetBit(0); start >= 0; ) {
+            int end = before.nextClearBit(start);
+            adapter.notifyItemRangeChanged(start, end - start, PAYLOAD_SELECTION);
+            start = before.nextSetBit(end);
+        }
+        notifySelectionChanged();
+    }
+
+    private void notifySelectionChanged() {
+        if (onSelectionChangedListener != null) {
+            onSelectionChangedListener.onSelectionChanged(selected.cardinality());
+        }
+    }
+
+    private void checkPosition(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Invalid position " + position + ", size " + size);
+        }
+    }
+
+    private void buildPositions(List<T> list) {
+        final int generation = this.generation;
+        pendingList = list;
+        adapter.getDiffExecutor().execute(() -> {
+            Positions built = Positions.of(list);
+            mainHandler.post(() -> {
+                // drop outdated positions
+                if (generation == this.generation && positions == null) {
+                    installPositions(built);
+                }
+            });
+        });
+    }
+
+    private Positions requirePositions() {
+        // needed before background build finished
+        if (positions == null) {
+            installPositions(Positions.of(pendingList));
+        }
+        return positions;
+    }
+
+    private void installPositions(Positions built) {
+        List<T> list = pendingList;
+        pendingList = null;
+        positions = built;
+        if (built.size < list.size()) {
+            built.append(list, built.size);
+        }
+        attachDetached();
+    }
+
+    private void attachDetached() {
+        if (detached.length == 0) {
+            return;
+        }
+        BitSet before = (BitSet) selected.clone();
+        long[] missing = new long[detached.length];
+        int missingCount = 0;
+        for (long id : detached) {
+            int position = positions.positionOf(id);
+            if (position >= 0) {
+                selected.set(position);
+            } else {
+                missing[missingCount++] = id;
+            }
+        }
+        detached = Arrays.copyOf(missing, missingCount);
+        notifyChanges(before);
+    }
+
+    private int positionOf(long id) {
+        return requirePositions().positionOf(id);
+    }
+
+    /**
+     * Map of 64 bit stable ids to positions, using open addressing
+     *
+     * @since 0.5.0
+     */
+    static final class Positions {
+        private long[] ids = NO_IDS;
+        private int size = 0;
+        private long[] keys = NO_IDS;
+        private int[] values = new int[0];
+
+        private Positions() {
+        }
+
+        /**
+         * Build positions of all items of a list, safe to call off the main thread
+         *
+         * @param list items
+         * @param <T>  type of item
+         * @return {@link Positions}
+         * @since 0.5.0
+         */
+        @NonNull
+        static <T extends Item> Positions of(@NonNull List<T> list) {
+            Positions positions = new Positions();
+            positions.append(list, 0);
+            return positions;
+        }
+
+        /**
+         * Add positions of items appended to a list from a given position
+         *
+         * @param list     items
+         * @param position first appended position
+         * @param <T>      type of item
+         * @since 0.5.0
+         */
+        <T extends Item> void append(@NonNull List<T> list, int position) {
+            int newSize = list.size();
+            if (newSize > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(newSize, ids.length + (ids.length >> 1)));
+            }
+            for (int i = position; i < newSize; i++) {
+                ids[i] = ItemListAdapter.stableIdOf(list.get(i).getId());
+            }
+            int from = size;
+            size = newSize;
+
+            // keep load factor under a half
+            if (size * 2 > keys.length) {
+                rehash();
+            } else {
+                for (int i = from; i < size; i++) {
+                    put(i);
+                }
+            }
+        }
+
+        int positionOf(long id) {
+            if (values.length == 0) {
+                return -1;
+            }
+            int mask = values.length - 1;
+            int slot = slotOf(id, mask);
+            while (values[slot] != 0) {
+                if (keys[slot] == id) {
+                    return values[slot] - 1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void rehash() {
+            // values hold position + 1 so 0 is empty
+            int capacity = Integer.highestOneBit(Math.max(4, size * 2 - 1)) << 1;
+            keys = new long[capacity];
+            values = new int[capacity];
+            for (int i = 0; i < size; i++) {
+                put(i);
+            }
+        }
+
+        private void put(int position) {
+            long id = ids[position];
+            int mask = values.length - 1;
+            int slot = slotOf(id, mask);
+            while (values[slot] != 0 && keys[slot] != id) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = id;
+            values[slot] = position + 1;
+        }
+
+        private static int slotOf(long id, int mask) {
+            long hash = id * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+
+    /**
+     * Receive selection changes
+     *
+     * @since 0.5.0
+     */
+    public interface OnSelectionChangedListener {
+
+        /**
+         * Called on main thread when selection changed
+         *
+         * @param selectedCount number of selected items
+         * @since 0.5.0
+         */
+        void onSelectionChanged(int selectedCount);
+    }
+}
@@ -0,0 +1,248 @@
+package com.github.lykmapipo.listview.adapter;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.paging.DataSource;
+import androidx.paging.LivePagedListBuilder;
+import androidx.paging.PagedList;
+
+import com.github.lykmapipo.listview.data.Item;
+import com.github.lykmapipo.listview.data.LoadState;
+import com.github.lykmapipo.listview.data.LoadStateListener;
+import com.github.lykmapipo.listview.data.TaskPageKeyedDataSource;
+import com.github.lykmapipo.listview.view.StateLayout;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Bind an {@link ItemPagedListAdapter} and a {@link StateLayout} to paged data.
+ * <p>
+ * Initial load outcomes are mapped to {@link StateLayout#showLoading()},
+ * {@link StateLayout#showContent()}, {@link StateLayout#showEmpty(View.OnClickListener)},
+ * {@link StateLayout#showError(View.OnClickListener)} and
+ * {@link StateLayout#showOffline(View.OnClickListener)}, while append load outcomes
+ * drive the adapter footer. Pass the binder as {@link LoadStateListener} to data sources.
+ *
+ * <pre>
+ * PagedItemListBinder&lt;Contact&gt; binder = new PagedItemListBinder&lt;&gt;(stateLayout, adapter);
+ * binder.setPageSize(50);
+ * binder.setPrefetchDistance(100);
+ *
+ * binder.build(new ContactDataSourceFactory(binder)).observe(this, adapter::submitList);
+ * </pre>
+ *
+ * @param <T> type of item
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+public class PagedItemListBinder<T extends Item> implements LoadStateListener {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final StateLayout stateLayout;
+    private final ItemPagedListAdapter<T, ?> adapter;
+
+    private int pageSize = DEFAULT_PAGE_SIZE;
+    private int prefetchDistance = -1;
+    private int initialLoadSizeHint = -1;
+    private int maxSize = PagedList.Config.MAX_SIZE_UNBOUNDED;
+    private boolean enablePlaceholders = false;
+    private Executor fetchExecutor = null;
+    private Runnable retry = null;
+    private LiveData<PagedList<T>> pagedList = null;
+
+    private final View.OnClickListener retryClickListener = view -> retry();
+
+    public PagedItemListBinder(
+            @NonNull StateLayout stateLayout, @NonNull ItemPagedListAdapter<T, ?> adapter
+    ) {
+        this.stateLayout = stateLayout;
+        this.adapter = adapter;
+        this.adapter.setOnRetryClickListener(retryClickListener);
+    }
+
+    /**
+     * Set number of items loaded per page
+     *
+     * @param pageSize page size
+     * @since 0.5.0
+     */
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Set distance from loaded content edge that trigger next page load,
+     * defaults to page size
+     *
+     * @param prefetchDistance prefetch distance
+     * @since 0.5.0
+     */
+    public void setPrefetchDistance(int prefetchDistance) {
+        this.prefetchDistance = prefetchDistance;
+    }
+
+    /**
+     * Set number of items loaded initially, defaults to three pages
+     *
+     * @param initialLoadSizeHint initial load size
+     * @since 0.5.0
+     */
+    public void setInitialLoadSizeHint(int initialLoadSizeHint) {
+        this.initialLoadSizeHint = initialLoadSizeHint;
+    }
+
+    /**
+     * Set maximum number of items kept in memory before pages are dropped,
+     * defaults to unbounded
+     *
+     * @param maxSize maximum loaded items
+     * @since 0.5.0
+     */
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Set whether null placeholders are used for not yet loaded items, defaults to false.
+     * <p>
+     * Placeholders require a data source that report total count on initial load,
+     * which {@link TaskPageKeyedDataSource} does not, so enable them only with such
+     * data sources i.e to measure {@link ItemPagedListAdapter#getStallCount()}.
+     *
+     * @param enablePlaceholders true to enable placeholders
+     * @since 0.5.0
+     */
+    public void setEnablePlaceholders(boolean enablePlaceholders) {
+        this.enablePlaceholders = enablePlaceholders;
+    }
+
+    /**
+     * Set executor used to fetch pages
+     *
+     * @param fetchExecutor fetch executor
+     * @since 0.5.0
+     */
+    public void setFetchExecutor(@Nullable Executor fetchExecutor) {
+        this.fetchExecutor = fetchExecutor;
+    }
+
+    /**
+     * Set retry action, defaults to retrying failed load of a {@link TaskPageKeyedDataSource}
+     * or invalidating other data sources
+     *
+     * @param retry retry action
+     * @since 0.5.0
+     */
+    public void setRetry(@Nullable Runnable retry) {
+        this.retry = retry;
+    }
+
+    /**
+     * Obtain paged list config from current settings
+     *
+     * @return {@link PagedList.Config}
+     * @since 0.5.0
+     */
+    @NonNull
+    public PagedList.Config getConfig() {
+        PagedList.Config.Builder builder = new PagedList.Config.Builder()
+                .setPageSize(pageSize)
+                .setEnablePlaceholders(enablePlaceholders)
+                .setMaxSize(maxSize);
+        if (prefetchDistance > 0) {
+            builder.setPrefetchDistance(prefetchDistance);
+        }
+        if (initialLoadSizeHint > 0) {
+            builder.setInitialLoadSizeHint(initialLoadSizeHint);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Build live paged list from a given data source factory
+     *
+     * @param factory data source factory
+     * @param <K>     type of page key
+     * @return {@link LiveData} of {@link PagedList}
+     * @since 0.5.0
+     */
+    @NonNull
+    public <K> LiveData<PagedList<T>> build(@NonNull DataSource.Factory<K, T> factory) {
+        LivePagedListBuilder<K, T> builder = new LivePagedListBuilder<>(factory, getConfig());
+        if (fetchExecutor != null) {
+            builder.setFetchExecutor(fetchExecutor);
+        }
+        pagedList = builder.build();
+        return pagedList;
+    }
+
+    /**
+     * Retry failed load
+     *
+     * @since 0.5.0
+     */
+    public void retry() {
+        if (retry != null) {
+            retry.run();
+            return;
+        }
+
+        PagedList<T> current = pagedList != null ? pagedList.getValue() : null;
+        if (current == null) {
+            return;
+        }
+
+        // retry only failed load, keep loaded pages and scroll position
+        DataSource<?, T> dataSource = current.getDataSource();
+        if (dataSource instanceof TaskPageKeyedDataSource
+                && ((TaskPageKeyedDataSource<?>) dataSource).retry()) {
+            return;
+        }
+
+        // reload from data source
+        dataSource.invalidate();
+    }
+
+    @Override
+    public void onInitialLoadStateChanged(@NonNull LoadState state) {
+        runOnMainThread(() -> {
+            switch (state) {
+                case LOADING:
+                    stateLayout.showLoading();
+                    break;
+                case LOADED:
+                    stateLayout.showContent();
+                    break;
+                case EMPTY:
+                    stateLayout.showEmpty(retryClickListener);
+                    break;
+                case ERROR:
+                    stateLayout.showError(retryClickListener);
+                    break;
+                case OFFLINE:
+                    stateLayout.showOffline(retryClickListener);
+                    break;
+            }
+        });
+    }
+
+    @Override
+    public void onAppendLoadStateChanged(@NonNull LoadState state) {
+        runOnMainThread(() -> adapter.setAppendLoadState(state));
+    }
+
+    private void runOnMainThread(Runnable runnable) {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            runnable.run();
+        } else {
+            mainHandler.post(runnable);
+        }
+    }
+}
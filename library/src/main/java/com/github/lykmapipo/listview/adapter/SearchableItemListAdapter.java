@@ -0,0 +1,297 @@
+package com.github.lykmapipo.listview.adapter;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.github.lykmapipo.listview.data.Item;
+import com.github.lykmapipo.listview.data.SearchIndex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An {@link ItemListAdapter} that filter items by {@link Item#getName()} and
+ * {@link Item#getDescription()} off the main thread.
+ * <p>
+ * Search input is debounced and stale searches are cancelled. When a query narrow the
+ * previous query i.e user type one more character, only previous matches are scanned.
+ * A subclass overriding {@link #matches(Item, String)} whose matches are not narrowed
+ * by a longer query must return false from {@link #isNarrowable(String, String)}.
+ * <p>
+ * For very large lists a {@link SearchIndex} can be enabled using
+ * {@link #setIndexEnabled(boolean)}, it is built in the background when items are set.
+ * Index hits are only candidates, each is still checked with {@link #matches(Item, String)}.
+ *
+ * <pre>
+ * searchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
+ *     public boolean onQueryTextChange(String query) {
+ *         adapter.search(query);
+ *         return true;
+ *     }
+ *     //...
+ * });
+ * </pre>
+ *
+ * @param <T>  type of item
+ * @param <VH> type of view holder
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+public abstract class SearchableItemListAdapter<T extends Item, VH extends RecyclerView.ViewHolder>
+        extends ItemListAdapter<T, VH> {
+
+    private static final long DEFAULT_SEARCH_DELAY = 300L;
+    private static final int CANCELLATION_CHECK_INTERVAL = 256;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final AtomicInteger searchGeneration = new AtomicInteger();
+    private final Runnable searchRunnable = this::performSearch;
+
+    private List<T> items = Collections.emptyList();
+    private String query = "";
+    private String lastQuery = "";
+    private List<T> lastResult = items;
+    private long searchDelay = DEFAULT_SEARCH_DELAY;
+    private volatile int scannedCount = 0;
+    private boolean indexEnabled = false;
+    private volatile SearchIndex<T> index = null;
+
+    public SearchableItemListAdapter() {
+        super();
+    }
+
+    public SearchableItemListAdapter(@NonNull Executor diffExecutor) {
+        super(diffExecutor);
+    }
+
+    /**
+     * Set items to search, current query is re-applied immediately
+     *
+     * @param items items to search
+     * @since 0.5.0
+     */
+    public void setItems(@Nullable List<T> items) {
+        this.items = items != null ? items : Collections.<T>emptyList();
+        this.lastQuery = "";
+        this.lastResult = this.items;
+
+        mainHandler.removeCallbacks(searchRunnable);
+        performSearch();
+        buildIndex();
+    }
+
+    /**
+     * Set whether a {@link SearchIndex} should be built for items
+     * <p>
+     * Note: index only find items whose name or description contain the query, a subclass
+     * overriding {@link #matches(Item, String)} to match other items must not enable it
+     *
+     * @param indexEnabled true to build search index
+     * @since 0.5.0
+     */
+    public void setIndexEnabled(boolean indexEnabled) {
+        this.indexEnabled = indexEnabled;
+        if (indexEnabled) {
+            buildIndex();
+        } else {
+            index = null;
+        }
+    }
+
+    /**
+     * Obtain search index built for current items
+     *
+     * @return {@link SearchIndex} or null if not enabled or not yet built
+     * @since 0.5.0
+     */
+    @Nullable
+    public SearchIndex<T> getIndex() {
+        SearchIndex<T> index = this.index;
+        return index != null && index.getItems() == items ? index : null;
+    }
+
+    /**
+     * Obtain all items to search
+     *
+     * @return items
+     * @since 0.5.0
+     */
+    @NonNull
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Search items after search delay, pending and running searches are cancelled
+     *
+     * @param query search query
+     * @since 0.5.0
+     */
+    public void search(@Nullable CharSequence query) {
+        this.query = SearchIndex.normalize(query);
+        searchGeneration.incrementAndGet();
+
+        mainHandler.removeCallbacks(searchRunnable);
+        mainHandler.postDelayed(searchRunnable, searchDelay);
+    }
+
+    /**
+     * Obtain latest search query
+     *
+     * @return search query
+     * @since 0.5.0
+     */
+    @NonNull
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Set delay used to debounce search input
+     *
+     * @param searchDelay delay in milliseconds
+     * @since 0.5.0
+     */
+    public void setSearchDelay(long searchDelay) {
+        this.searchDelay = Math.max(0, searchDelay);
+    }
+
+    /**
+     * Obtain number of items scanned by latest search
+     *
+     * @return scanned count
+     * @since 0.5.0
+     */
+    public int getScannedCount() {
+        return scannedCount;
+    }
+
+    /**
+     * Check if item match a given normalized query
+     *
+     * @param item  item to check
+     * @param query query normalized by {@link SearchIndex#normalize(CharSequence)}
+     * @return true if match
+     * @since 0.5.0
+     */
+    protected boolean matches(@NonNull T item, @NonNull String query) {
+        return containsIgnoreCase(item.getName(), query)
+                || containsIgnoreCase(item.getDescription(), query);
+    }
+
+    /**
+     * Check if matches of a query are among matches of a previous query it contains,
+     * so only previous matches need to be scanned
+     * <p>
+     * Note: subclasses overriding {@link #matches(Item, String)} must return false
+     * unless their matcher also narrow with a longer query
+     *
+     * @param previous previous normalized query
+     * @param query    normalized query containing previous query
+     * @return true if previous matches can be narrowed
+     * @since 0.5.0
+     */
+    protected boolean isNarrowable(@NonNull String previous, @NonNull String query) {
+        return true;
+    }
+
+    private void performSearch() {
+        final int generation = searchGeneration.incrementAndGet();
+        final String query = this.query;
+
+        // show all items
+        if (query.isEmpty()) {
+            lastQuery = query;
+            lastResult = items;
+            submitList(items);
+            return;
+        }
+
+        // search using index when ready
+        final SearchIndex<T> index = getIndex();
+        if (index != null) {
+            getDiffExecutor().execute(() -> {
+                if (generation != searchGeneration.get()) {
+                    return;
+                }
+                int[] positions = index.search(query);
+                List<T> result = new ArrayList<>(positions.length);
+                for (int position : positions) {
+                    T item = index.getItems().get(position);
+                    if (matches(item, query)) {
+                        result.add(item);
+                    }
+                }
+                scannedCount = positions.length;
+                publishResult(generation, query, result);
+            });
+            return;
+        }
+
+        // narrow previous result when possible
+        final List<T> source = !lastQuery.isEmpty() && query.contains(lastQuery)
+                && isNarrowable(lastQuery, query) ? lastResult : items;
+
+        getDiffExecutor().execute(() -> {
+            List<T> result = new ArrayList<>();
+            int size = source.size();
+            for (int i = 0; i < size; i++) {
+                // cancel stale search
+                if (i % CANCELLATION_CHECK_INTERVAL == 0 && generation != searchGeneration.get()) {
+                    return;
+                }
+                T item = source.get(i);
+                if (matches(item, query)) {
+                    result.add(item);
+                }
+            }
+            scannedCount = size;
+            publishResult(generation, query, result);
+        });
+    }
+
+    private void publishResult(int generation, String query, List<T> result) {
+        mainHandler.post(() -> {
+            if (generation == searchGeneration.get()) {
+                lastQuery = query;
+                lastResult = result;
+                submitList(result);
+            }
+        });
+    }
+
+    private void buildIndex() {
+        final List<T> items = this.items;
+        if (!indexEnabled || getIndex() != null) {
+            return;
+        }
+        getDiffExecutor().execute(() -> {
+            SearchIndex<T> index = SearchIndex.build(items);
+            mainHandler.post(() -> {
+                if (indexEnabled && items == this.items) {
+                    this.index = index;
+                }
+            });
+        });
+    }
+
+    private static boolean containsIgnoreCase(@Nullable String value, @NonNull String query) {
+        if (value == null) {
+            return false;
+        }
+        int max = value.length() - query.length();
+        for (int i = 0; i <= max; i++) {
+            if (value.regionMatches(true, i, query, 0, query.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
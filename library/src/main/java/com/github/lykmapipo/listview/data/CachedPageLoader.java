@@ -0,0 +1,102 @@
+package com.github.lykmapipo.listview.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.CancellationToken;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * A {@link TaskPageKeyedDataSource.PageLoader} that serve pages from a {@link PageCache}
+ * before hitting the backend.
+ * <p>
+ * Fresh cached pages are returned without loading. Stale cached pages are returned
+ * instantly while fresh page load behind and update the cache, then
+ * {@link OnPageRefreshedListener} is notified i.e to invalidate the data source.
+ *
+ * @param <T> type of item
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+public class CachedPageLoader<T> implements TaskPageKeyedDataSource.PageLoader<T> {
+
+    private final TaskPageKeyedDataSource.PageLoader<T> pageLoader;
+    private final PageCache<T> pageCache;
+    private final Executor executor;
+    private OnPageRefreshedListener onPageRefreshedListener;
+
+    public CachedPageLoader(
+            @NonNull TaskPageKeyedDataSource.PageLoader<T> pageLoader,
+            @NonNull PageCache<T> pageCache,
+            @NonNull Executor executor
+    ) {
+        this.pageLoader = pageLoader;
+        this.pageCache = pageCache;
+        this.executor = executor;
+    }
+
+    /**
+     * Set callback to invoke when a stale page was refreshed
+     *
+     * @param onPageRefreshedListener refresh listener
+     * @since 0.5.0
+     */
+    public void setOnPageRefreshedListener(
+            @Nullable OnPageRefreshedListener onPageRefreshedListener
+    ) {
+        this.onPageRefreshedListener = onPageRefreshedListener;
+    }
+
+    @NonNull
+    @Override
+    public Task<List<T>> load(int page, int pageSize, @NonNull CancellationToken token) {
+        PageCache.Page<T> cached = pageCache.get(page, pageSize);
+
+        // serve fresh page from cache
+        if (cached != null && !cached.isStale()) {
+            return Tasks.forResult(cached.getItems());
+        }
+
+        // load and cache fresh page
+        Task<List<T>> fresh = pageLoader.load(page, pageSize, token)
+                .continueWithTask(executor, task -> {
+                    if (task.isSuccessful() && task.getResult() != null) {
+                        pageCache.put(page, pageSize, task.getResult());
+                    }
+                    return task;
+                });
+
+        // serve stale page while refreshing
+        if (cached != null) {
+            fresh.addOnSuccessListener(executor, items -> {
+                OnPageRefreshedListener listener = onPageRefreshedListener;
+                if (listener != null) {
+                    listener.onPageRefreshed(page);
+                }
+            });
+            return Tasks.forResult(cached.getItems());
+        }
+
+        return fresh;
+    }
+
+    /**
+     * Receive stale page refresh notification
+     *
+     * @since 0.5.0
+     */
+    public interface OnPageRefreshedListener {
+
+        /**
+         * Called once stale page was refreshed and cached
+         *
+         * @param page page number
+         * @since 0.5.0
+         */
+        void onPageRefreshed(int page);
+    }
+}
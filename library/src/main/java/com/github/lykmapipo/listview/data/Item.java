@@ -0,0 +1,49 @@
+package com.github.lykmapipo.listview.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * An Item is a value displayed by list components i.e contact, code or option.
+ *
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+public interface Item {
+
+    /**
+     * Obtain item unique id
+     *
+     * @return item id
+     * @since 0.5.0
+     */
+    @NonNull
+    String getId();
+
+    /**
+     * Obtain item display name
+     *
+     * @return item name
+     * @since 0.5.0
+     */
+    @NonNull
+    String getName();
+
+    /**
+     * Obtain item description
+     *
+     * @return item description
+     * @since 0.5.0
+     */
+    @Nullable
+    String getDescription();
+
+    /**
+     * Obtain item color i.e #FF0000
+     *
+     * @return item color
+     * @since 0.5.0
+     */
+    @Nullable
+    String getColor();
+}
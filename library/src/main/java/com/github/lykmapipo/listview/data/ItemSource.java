@@ -0,0 +1,114 @@
+package com.github.lykmapipo.listview.data;
+
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * An incremental source of items i.e local database cursor or parsed file, read
+ * chunk by chunk so items can be displayed before the whole source is read.
+ * <p>
+ * Note: sources are read and closed off the main thread
+ *
+ * @param <T> type of item
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+public interface ItemSource<T> extends Closeable {
+
+    /**
+     * Read next items into a given chunk
+     *
+     * @param chunk    chunk to add read items to
+     * @param maxCount maximum number of items to read
+     * @return true if more items may follow, false once source is exhausted
+     * @throws IOException if source can not be read
+     * @since 0.5.0
+     */
+    boolean read(@NonNull List<T> chunk, int maxCount) throws IOException;
+
+    /**
+     * An {@link ItemSource} backed by an {@link Iterator}, closed with the
+     * iterator if it is {@link Closeable}
+     *
+     * @param <T> type of item
+     * @since 0.5.0
+     */
+    class IteratorSource<T> implements ItemSource<T> {
+
+        private final Iterator<? extends T> iterator;
+
+        public IteratorSource(@NonNull Iterator<? extends T> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean read(@NonNull List<T> chunk, int maxCount) {
+            for (int i = 0; i < maxCount && iterator.hasNext(); i++) {
+                chunk.add(iterator.next());
+            }
+            return iterator.hasNext();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (iterator instanceof Closeable) {
+                ((Closeable) iterator).close();
+            }
+        }
+    }
+
+    /**
+     * An {@link ItemSource} backed by a {@link Cursor}, each row is mapped to an item
+     *
+     * @param <T> type of item
+     * @since 0.5.0
+     */
+    class CursorSource<T> implements ItemSource<T> {
+
+        private final Cursor cursor;
+        private final RowMapper<T> rowMapper;
+
+        public CursorSource(@NonNull Cursor cursor, @NonNull RowMapper<T> rowMapper) {
+            this.cursor = cursor;
+            this.rowMapper = rowMapper;
+        }
+
+        @Override
+        public boolean read(@NonNull List<T> chunk, int maxCount) {
+            for (int i = 0; i < maxCount && cursor.moveToNext(); i++) {
+                chunk.add(rowMapper.map(cursor));
+            }
+            return !cursor.isLast() && !cursor.isAfterLast();
+        }
+
+        @Override
+        public void close() {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Map current {@link Cursor} row to an item
+     *
+     * @param <T> type of item
+     * @since 0.5.0
+     */
+    interface RowMapper<T> {
+
+        /**
+         * Map current row
+         *
+         * @param cursor cursor positioned on a row
+         * @return item
+         * @since 0.5.0
+         */
+        @NonNull
+        T map(@NonNull Cursor cursor);
+    }
+}
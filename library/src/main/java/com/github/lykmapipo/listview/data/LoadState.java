@@ -0,0 +1,34 @@
+package com.github.lykmapipo.listview.data;
+
+/**
+ * Outcome of a page load reported by paged data sources.
+ *
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+public enum LoadState {
+    /**
+     * Load is in progress
+     */
+    LOADING,
+
+    /**
+     * Load succeeded with items
+     */
+    LOADED,
+
+    /**
+     * Load succeeded without items
+     */
+    EMPTY,
+
+    /**
+     * Load failed
+     */
+    ERROR,
+
+    /**
+     * Load failed due to lack of connectivity
+     */
+    OFFLINE
+}
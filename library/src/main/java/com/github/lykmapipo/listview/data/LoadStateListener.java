@@ -0,0 +1,30 @@
+package com.github.lykmapipo.listview.data;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Receive {@link LoadState} changes from paged data sources.
+ * <p>
+ * Note: callbacks may be invoked from background threads
+ *
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+public interface LoadStateListener {
+
+    /**
+     * Called when initial load state changed
+     *
+     * @param state load state
+     * @since 0.5.0
+     */
+    void onInitialLoadStateChanged(@NonNull LoadState state);
+
+    /**
+     * Called when append load state changed
+     *
+     * @param state load state
+     * @since 0.5.0
+     */
+    void onAppendLoadStateChanged(@NonNull LoadState state);
+}
@@ -0,0 +1,421 @@
+package com.github.lykmapipo.listview.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A two tier cache of loaded pages keyed by page number and page size, so a page
+ * number loaded with a different size is a different page.
+ * <p>
+ * First tier is an in-memory LRU of recent pages, second tier is an optional
+ * append-only segment file where latest record of a page wins. Both tiers honour
+ * a time to live, expired pages are still returned but marked stale so callers can
+ * show them instantly while fresh data loads. Segment file is compacted once
+ * obsolete records dominate it.
+ * <p>
+ * Note: disk operations are blocking, use cache off the main thread
+ *
+ * @param <T> type of item
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+public class PageCache<T> {
+
+    private static final int MIN_COMPACT_SIZE = 1024 * 1024; // 1MB
+    private static final int RECORD_HEADER_SIZE = 4 + 4 + 8 + 4 + 4;
+
+    private final int maxMemoryPages;
+    private final long ttl;
+    private final File file;
+    private final Codec<T> codec;
+
+    private final LinkedHashMap<Long, Page<T>> memory;
+    private final Map<Long, long[]> diskIndex = new HashMap<>();
+    private RandomAccessFile segment;
+    private long liveBytes = 0;
+
+    private int memoryHitCount = 0;
+    private int diskHitCount = 0;
+    private int missCount = 0;
+
+    public PageCache(int maxMemoryPages, long ttl) {
+        this(maxMemoryPages, ttl, null, null);
+    }
+
+    public PageCache(
+            int maxMemoryPages, long ttl, @Nullable File file, @Nullable Codec<T> codec
+    ) {
+        this.maxMemoryPages = maxMemoryPages;
+        this.ttl = ttl;
+        this.file = codec != null ? file : null;
+        this.codec = codec;
+        this.memory = new LinkedHashMap<Long, Page<T>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Page<T>> eldest) {
+                return size() > PageCache.this.maxMemoryPages;
+            }
+        };
+    }
+
+    /**
+     * Obtain cached page
+     *
+     * @param page     page number
+     * @param pageSize page size page was loaded with
+     * @return {@link Page} or null if not cached
+     * @since 0.5.0
+     */
+    @Nullable
+    public synchronized Page<T> get(int page, int pageSize) {
+        long now = now();
+        long key = keyOf(page, pageSize);
+
+        // first tier
+        Page<T> cached = memory.get(key);
+        if (cached != null) {
+            memoryHitCount++;
+            return cached.withStale(now - cached.timestamp > ttl);
+        }
+
+        // second tier
+        cached = readFromDisk(key);
+        if (cached != null) {
+            diskHitCount++;
+            memory.put(key, cached);
+            return cached.withStale(now - cached.timestamp > ttl);
+        }
+
+        missCount++;
+        return null;
+    }
+
+    /**
+     * Cache loaded page
+     *
+     * @param page     page number
+     * @param pageSize page size page was loaded with
+     * @param items    page items
+     * @since 0.5.0
+     */
+    public synchronized void put(int page, int pageSize, @NonNull List<T> items) {
+        long key = keyOf(page, pageSize);
+        Page<T> cached = new Page<>(Collections.unmodifiableList(new ArrayList<>(items)), now(), false);
+        memory.put(key, cached);
+        writeToDisk(key, cached);
+    }
+
+    /**
+     * Drop all cached pages from both tiers
+     *
+     * @since 0.5.0
+     */
+    public synchronized void clear() {
+        memory.clear();
+        diskIndex.clear();
+        liveBytes = 0;
+        try {
+            RandomAccessFile segment = openSegment();
+            if (segment != null) {
+                segment.setLength(0);
+            }
+        } catch (IOException e) {
+            closeSegment();
+        }
+    }
+
+    /**
+     * Release segment file
+     *
+     * @since 0.5.0
+     */
+    public synchronized void close() {
+        closeSegment();
+    }
+
+    /**
+     * Obtain number of pages served from memory
+     *
+     * @return memory hit count
+     * @since 0.5.0
+     */
+    public synchronized int memoryHitCount() {
+        return memoryHitCount;
+    }
+
+    /**
+     * Obtain number of pages served from disk
+     *
+     * @return disk hit count
+     * @since 0.5.0
+     */
+    public synchronized int diskHitCount() {
+        return diskHitCount;
+    }
+
+    /**
+     * Obtain number of pages not found in any tier
+     *
+     * @return miss count
+     * @since 0.5.0
+     */
+    public synchronized int missCount() {
+        return missCount;
+    }
+
+    /**
+     * Obtain current time used to check staleness
+     *
+     * @return time in milliseconds
+     * @since 0.5.0
+     */
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    private Page<T> readFromDisk(long key) {
+        try {
+            RandomAccessFile segment = openSegment();
+            long[] entry = diskIndex.get(key);
+            if (segment == null || entry == null) {
+                return null;
+            }
+
+            // read record: page, page size, timestamp, count, length, items
+            segment.seek(entry[0] + 4 + 4 + 8);
+            int count = segment.readInt();
+            byte[] bytes = new byte[segment.readInt()];
+            segment.readFully(bytes);
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            List<T> items = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                items.add(codec.read(in));
+            }
+            return new Page<>(Collections.unmodifiableList(items), entry[1], false);
+        } catch (IOException e) {
+            diskIndex.remove(key);
+            return null;
+        }
+    }
+
+    private void writeToDisk(long key, Page<T> cached) {
+        try {
+            RandomAccessFile segment = openSegment();
+            if (segment == null) {
+                return;
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            for (T item : cached.items) {
+                codec.write(out, item);
+            }
+            out.flush();
+
+            // append record
+            long offset = segment.length();
+            segment.seek(offset);
+            segment.writeInt(pageOf(key));
+            segment.writeInt(pageSizeOf(key));
+            segment.writeLong(cached.timestamp);
+            segment.writeInt(cached.items.size());
+            segment.writeInt(bytes.size());
+            segment.write(bytes.toByteArray());
+
+            long[] previous = diskIndex.put(key, new long[]{offset, cached.timestamp, RECORD_HEADER_SIZE + bytes.size()});
+            liveBytes += RECORD_HEADER_SIZE + bytes.size() - (previous != null ? previous[2] : 0);
+
+            compactIfNeeded(segment);
+        } catch (IOException e) {
+            closeSegment();
+        }
+    }
+
+    private RandomAccessFile openSegment() throws IOException {
+        if (file == null) {
+            return null;
+        }
+        if (segment != null) {
+            return segment;
+        }
+
+        segment = new RandomAccessFile(file, "rw");
+
+        // rebuild index, latest record of a page wins
+        diskIndex.clear();
+        liveBytes = 0;
+        long offset = 0;
+        long length = segment.length();
+        while (offset + RECORD_HEADER_SIZE <= length) {
+            segment.seek(offset);
+            long key = keyOf(segment.readInt(), segment.readInt());
+            long timestamp = segment.readLong();
+            segment.readInt();
+            int size = segment.readInt();
+            long recordSize = RECORD_HEADER_SIZE + (long) size;
+            if (size < 0 || offset + recordSize > length) {
+                break;
+            }
+            long[] previous = diskIndex.put(key, new long[]{offset, timestamp, recordSize});
+            liveBytes += recordSize - (previous != null ? previous[2] : 0);
+            offset += recordSize;
+        }
+
+        // drop partially written tail
+        if (offset < length) {
+            segment.setLength(offset);
+        }
+
+        return segment;
+    }
+
+    private void compactIfNeeded(RandomAccessFile segment) throws IOException {
+        long length = segment.length();
+        if (length < MIN_COMPACT_SIZE || length < 2 * liveBytes) {
+            return;
+        }
+
+        // rewrite live records into a new segment
+        File compacted = new File(file.getPath() + ".compact");
+        RandomAccessFile target = new RandomAccessFile(compacted, "rw");
+        try {
+            target.setLength(0);
+            for (long[] entry : diskIndex.values()) {
+                byte[] record = new byte[(int) entry[2]];
+                segment.seek(entry[0]);
+                segment.readFully(record);
+                entry[0] = target.getFilePointer();
+                target.write(record);
+            }
+        } finally {
+            target.close();
+        }
+
+        closeSegment();
+        if (!compacted.renameTo(file)) {
+            throw new IOException("Failed to compact " + file);
+        }
+    }
+
+    private static long keyOf(int page, int pageSize) {
+        return ((long) page << 32) | (pageSize & 0xffffffffL);
+    }
+
+    private static int pageOf(long key) {
+        return (int) (key >>> 32);
+    }
+
+    private static int pageSizeOf(long key) {
+        return (int) key;
+    }
+
+    private void closeSegment() {
+        if (segment != null) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                // ignore
+            }
+            segment = null;
+        }
+    }
+
+    /**
+     * A cached page
+     *
+     * @param <T> type of item
+     * @since 0.5.0
+     */
+    public static final class Page<T> {
+        private final List<T> items;
+        private final long timestamp;
+        private final boolean stale;
+
+        Page(List<T> items, long timestamp, boolean stale) {
+            this.items = items;
+            this.timestamp = timestamp;
+            this.stale = stale;
+        }
+
+        /**
+         * Obtain page items
+         *
+         * @return items
+         * @since 0.5.0
+         */
+        @NonNull
+        public List<T> getItems() {
+            return items;
+        }
+
+        /**
+         * Obtain time page was cached
+         *
+         * @return time in milliseconds
+         * @since 0.5.0
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Check if page outlived cache time to live
+         *
+         * @return true if stale
+         * @since 0.5.0
+         */
+        public boolean isStale() {
+            return stale;
+        }
+
+        Page<T> withStale(boolean stale) {
+            return stale == this.stale ? this : new Page<>(items, timestamp, stale);
+        }
+    }
+
+    /**
+     * Write and read items to and from disk tier
+     *
+     * @param <T> type of item
+     * @since 0.5.0
+     */
+    public interface Codec<T> {
+
+        /**
+         * Write item
+         *
+         * @param out  output
+         * @param item item
+         * @throws IOException if write failed
+         * @since 0.5.0
+         */
+        void write(@NonNull DataOutput out, @NonNull T item) throws IOException;
+
+        /**
+         * Read item
+         *
+         * @param in input
+         * @return item
+         * @throws IOException if read failed
+         * @since 0.5.0
+         */
+        @NonNull
+        T read(@NonNull DataInput in) throws IOException;
+    }
+}
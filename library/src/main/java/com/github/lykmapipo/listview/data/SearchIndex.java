@@ -0,0 +1,295 @@
+package com.github.lykmapipo.listview.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable in-memory trigram index over {@link Item#getName()} and
+ * {@link Item#getDescription()} used to search large lists in sub-linear time.
+ * <p>
+ * Trigrams are hashed into a number of buckets sized from item count and postings are kept in
+ * primitive int arrays, no boxed collections are used. Candidates found through
+ * the index are verified against item text, so bucket collisions never
+ * produce false matches.
+ * <p>
+ * Note: building an index is expensive, build it off the main thread
+ *
+ * @param <T> type of item
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+public final class SearchIndex<T extends Item> {
+
+    private static final int MIN_BUCKET_BITS = 10;
+    private static final int MAX_BUCKET_BITS = 18;
+    private static final int[] EMPTY = new int[0];
+
+    private final List<T> items;
+    private final int bucketMask;
+    private final int[] offsets;
+    private final int[] postings;
+
+    private SearchIndex(List<T> items, int bucketMask, int[] offsets, int[] postings) {
+        this.items = items;
+        this.bucketMask = bucketMask;
+        this.offsets = offsets;
+        this.postings = postings;
+    }
+
+    /**
+     * Build index for a given items, with about two buckets per item
+     *
+     * @param items items to index
+     * @param <T>   type of item
+     * @return {@link SearchIndex}
+     * @since 0.5.0
+     */
+    @NonNull
+    public static <T extends Item> SearchIndex<T> build(@NonNull List<T> items) {
+        return build(items, bucketBitsOf(items.size()));
+    }
+
+    /**
+     * Build index for a given items
+     *
+     * @param items      items to index
+     * @param bucketBits log2 of number of trigram buckets
+     * @param <T>        type of item
+     * @return {@link SearchIndex}
+     * @since 0.5.0
+     */
+    @NonNull
+    public static <T extends Item> SearchIndex<T> build(@NonNull List<T> items, int bucketBits) {
+        int bucketCount = 1 << bucketBits;
+        int bucketMask = bucketCount - 1;
+        int[] offsets = new int[bucketCount + 1];
+        int[] buckets = new int[64];
+        int size = items.size();
+
+        // first pass: count distinct buckets per item
+        for (int i = 0; i < size; i++) {
+            buckets = bucketsOf(items.get(i), bucketMask, buckets);
+            int count = buckets[0];
+            for (int j = 1; j <= count; j++) {
+                offsets[buckets[j] + 1]++;
+            }
+        }
+
+        // prefix sum into bucket offsets
+        for (int b = 0; b < bucketCount; b++) {
+            offsets[b + 1] += offsets[b];
+        }
+
+        // second pass: fill postings, ascending per bucket
+        int[] postings = new int[offsets[bucketCount]];
+        int[] cursors = Arrays.copyOf(offsets, bucketCount);
+        for (int i = 0; i < size; i++) {
+            buckets = bucketsOf(items.get(i), bucketMask, buckets);
+            int count = buckets[0];
+            for (int j = 1; j <= count; j++) {
+                postings[cursors[buckets[j]]++] = i;
+            }
+        }
+
+        return new SearchIndex<>(items, bucketMask, offsets, postings);
+    }
+
+    /**
+     * Obtain indexed items
+     *
+     * @return items
+     * @since 0.5.0
+     */
+    @NonNull
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Obtain approximate index memory footprint
+     *
+     * @return size in bytes
+     * @since 0.5.0
+     */
+    public long sizeInBytes() {
+        return 4L * (offsets.length + postings.length);
+    }
+
+    /**
+     * Search positions of items whose name or description contain a given query
+     *
+     * @param query search query
+     * @return ascending item positions
+     * @since 0.5.0
+     */
+    @NonNull
+    public int[] search(@Nullable String query) {
+        String normalized = normalize(query);
+        int size = items.size();
+
+        // all items match empty query
+        if (normalized.isEmpty()) {
+            int[] positions = new int[size];
+            for (int i = 0; i < size; i++) {
+                positions[i] = i;
+            }
+            return positions;
+        }
+
+        // short query, verify all items
+        if (normalized.length() < 3) {
+            return verify(null, size, normalized);
+        }
+
+        // find smallest postings list
+        int smallest = -1;
+        int smallestSize = Integer.MAX_VALUE;
+        for (int i = 0; i + 3 <= normalized.length(); i++) {
+            int bucket = bucketOf(
+                    normalized.charAt(i), normalized.charAt(i + 1), normalized.charAt(i + 2), bucketMask
+            );
+            int bucketSize = offsets[bucket + 1] - offsets[bucket];
+            if (bucketSize < smallestSize) {
+                smallest = bucket;
+                smallestSize = bucketSize;
+            }
+        }
+        if (smallestSize == 0) {
+            return EMPTY;
+        }
+
+        // intersect with other postings
+        int[] candidates = Arrays.copyOfRange(postings, offsets[smallest], offsets[smallest + 1]);
+        int count = candidates.length;
+        for (int i = 0; i + 3 <= normalized.length() && count > 0; i++) {
+            int bucket = bucketOf(
+                    normalized.charAt(i), normalized.charAt(i + 1), normalized.charAt(i + 2), bucketMask
+            );
+            if (bucket == smallest) {
+                continue;
+            }
+            int from = offsets[bucket];
+            int to = offsets[bucket + 1];
+            int kept = 0;
+            for (int c = 0; c < count; c++) {
+                if (Arrays.binarySearch(postings, from, to, candidates[c]) >= 0) {
+                    candidates[kept++] = candidates[c];
+                }
+            }
+            count = kept;
+        }
+
+        return verify(candidates, count, normalized);
+    }
+
+    private int[] verify(int[] candidates, int count, String query) {
+        int[] positions = new int[count];
+        int found = 0;
+        for (int c = 0; c < count; c++) {
+            int position = candidates != null ? candidates[c] : c;
+            T item = items.get(position);
+            if (contains(item.getName(), query) || contains(item.getDescription(), query)) {
+                positions[found++] = position;
+            }
+        }
+        return found == count ? positions : Arrays.copyOf(positions, found);
+    }
+
+    private static int[] bucketsOf(Item item, int bucketMask, int[] buckets) {
+        buckets[0] = 0;
+        buckets = addBuckets(item.getName(), bucketMask, buckets);
+        buckets = addBuckets(item.getDescription(), bucketMask, buckets);
+
+        // sort and dedupe
+        int count = buckets[0];
+        Arrays.sort(buckets, 1, count + 1);
+        int distinct = 0;
+        for (int j = 1; j <= count; j++) {
+            if (distinct == 0 || buckets[distinct] != buckets[j]) {
+                buckets[++distinct] = buckets[j];
+            }
+        }
+        buckets[0] = distinct;
+        return buckets;
+    }
+
+    private static int[] addBuckets(String value, int bucketMask, int[] buckets) {
+        if (value == null || value.length() < 3) {
+            return buckets;
+        }
+        char c1 = Character.toLowerCase(value.charAt(0));
+        char c2 = Character.toLowerCase(value.charAt(1));
+        for (int i = 2; i < value.length(); i++) {
+            char c3 = Character.toLowerCase(value.charAt(i));
+            int count = buckets[0] + 1;
+            if (count >= buckets.length) {
+                buckets = Arrays.copyOf(buckets, buckets.length * 2);
+            }
+            buckets[count] = bucketOf(c1, c2, c3, bucketMask);
+            buckets[0] = count;
+            c1 = c2;
+            c2 = c3;
+        }
+        return buckets;
+    }
+
+    private static int bucketBitsOf(int size) {
+        int bucketBits = MIN_BUCKET_BITS;
+        while (bucketBits < MAX_BUCKET_BITS && (1L << bucketBits) < 2L * size) {
+            bucketBits++;
+        }
+        return bucketBits;
+    }
+
+    private static int bucketOf(char c1, char c2, char c3, int bucketMask) {
+        int hash = (c1 * 31 + c2) * 31 + c3;
+        hash ^= (hash >>> 16);
+        hash *= 0x45d9f3b;
+        hash ^= (hash >>> 16);
+        return hash & bucketMask;
+    }
+
+    /**
+     * Normalize a search query, trimmed and lower cased character by character
+     * so it does not depend on default locale
+     *
+     * @param query search query
+     * @return normalized query
+     * @since 0.5.0
+     */
+    @NonNull
+    public static String normalize(@Nullable CharSequence query) {
+        if (query == null) {
+            return "";
+        }
+        String trimmed = query.toString().trim();
+        StringBuilder normalized = new StringBuilder(trimmed.length());
+        for (int i = 0; i < trimmed.length(); i++) {
+            normalized.append(Character.toLowerCase(trimmed.charAt(i)));
+        }
+        return normalized.toString();
+    }
+
+    private static boolean contains(String value, String query) {
+        if (value == null) {
+            return false;
+        }
+        int max = value.length() - query.length();
+        for (int i = 0; i <= max; i++) {
+            boolean matched = true;
+            for (int j = 0; j < query.length(); j++) {
+                if (Character.toLowerCase(value.charAt(i + j)) != query.charAt(j)) {
+                    matched = false;
+                    break;
+                }
+            }
+            if (matched) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,283 @@
+package com.github.lykmapipo.listview.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable index of list sections i.e first letter of {@link Item#getName()}.
+ * <p>
+ * Section keys and their first positions are kept in plain arrays, so mapping a
+ * position to its section is a binary search and a section to its position is an
+ * array read, neither walks the adapter. After a diff, {@link #update(SectionIndex, List, int, KeyProvider)}
+ * reuse sections before first changed position and only rescan the rest.
+ * <p>
+ * Note: building an index scan items, build it off the main thread
+ *
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+public final class SectionIndex {
+
+    private static final SectionIndex EMPTY = new SectionIndex(new String[0], new int[0], 0, 0);
+
+    private final String[] keys;
+    private final int[] positions;
+    private final int count;
+    private final int itemCount;
+
+    private SectionIndex(String[] keys, int[] positions, int count, int itemCount) {
+        this.keys = keys;
+        this.positions = positions;
+        this.count = count;
+        this.itemCount = itemCount;
+    }
+
+    /**
+     * Obtain index with no sections
+     *
+     * @return empty {@link SectionIndex}
+     * @since 0.5.0
+     */
+    @NonNull
+    public static SectionIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Build index for a given items using first letter of item name
+     *
+     * @param items items to index
+     * @param <T>   type of item
+     * @return {@link SectionIndex}
+     * @since 0.5.0
+     */
+    @NonNull
+    public static <T extends Item> SectionIndex build(@NonNull List<T> items) {
+        return update(null, items, 0, new FirstLetterKeyProvider<>());
+    }
+
+    /**
+     * Build index for a given items
+     *
+     * @param items       items to index
+     * @param keyProvider provide section key of an item
+     * @param <T>         type of item
+     * @return {@link SectionIndex}
+     * @since 0.5.0
+     */
+    @NonNull
+    public static <T extends Item> SectionIndex build(
+            @NonNull List<T> items, @NonNull KeyProvider<T> keyProvider
+    ) {
+        return update(null, items, 0, keyProvider);
+    }
+
+    /**
+     * Update index after items changed from a given position
+     *
+     * @param previous     index of items before the change or null
+     * @param items        items after the change
+     * @param fromPosition first changed position
+     * @param keyProvider  provide section key of an item
+     * @param <T>          type of item
+     * @return {@link SectionIndex}
+     * @since 0.5.0
+     */
+    @NonNull
+    public static <T extends Item> SectionIndex update(
+            @Nullable SectionIndex previous, @NonNull List<T> items,
+            int fromPosition, @NonNull KeyProvider<T> keyProvider
+    ) {
+        int size = items.size();
+        if (size == 0) {
+            return EMPTY;
+        }
+
+        // keep sections that start before changed section
+        int kept = 0;
+        if (previous != null && fromPosition > 0) {
+            int section = previous.getSectionForPosition(Math.min(fromPosition, previous.itemCount - 1));
+            kept = Math.max(0, section);
+        }
+        int capacity = Math.max(16, previous != null ? previous.count + 1 : 16);
+        String[] keys = new String[capacity];
+        int[] positions = new int[capacity];
+        if (kept > 0) {
+            System.arraycopy(previous.keys, 0, keys, 0, kept);
+            System.arraycopy(previous.positions, 0, positions, 0, kept);
+        }
+
+        // rescan from start of changed section
+        int count = kept;
+        String lastKey = kept > 0 ? keys[kept - 1] : null;
+        int start = kept > 0 ? previous.positions[kept] : 0;
+        for (int i = start; i < size; i++) {
+            String key = keyProvider.keyOf(items.get(i));
+            if (!key.equals(lastKey)) {
+                if (count == keys.length) {
+                    keys = Arrays.copyOf(keys, count * 2);
+                    positions = Arrays.copyOf(positions, count * 2);
+                }
+                keys[count] = key;
+                positions[count] = i;
+                count++;
+                lastKey = key;
+            }
+        }
+
+        return new SectionIndex(keys, positions, count, size);
+    }
+
+    /**
+     * Obtain number of sections
+     *
+     * @return section count
+     * @since 0.5.0
+     */
+    public int getSectionCount() {
+        return count;
+    }
+
+    /**
+     * Obtain number of indexed items
+     *
+     * @return item count
+     * @since 0.5.0
+     */
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    /**
+     * Obtain key of a section
+     *
+     * @param section section index
+     * @return section key
+     * @since 0.5.0
+     */
+    @NonNull
+    public String getSection(int section) {
+        return keys[section];
+    }
+
+    /**
+     * Obtain keys of all sections
+     *
+     * @return section keys
+     * @since 0.5.0
+     */
+    @NonNull
+    public String[] getSections() {
+        return Arrays.copyOf(keys, count);
+    }
+
+    /**
+     * Obtain first position of a section
+     *
+     * @param section section index
+     * @return adapter position
+     * @since 0.5.0
+     */
+    public int getPositionForSection(int section) {
+        if (count == 0) {
+            return 0;
+        }
+        return positions[Math.max(0, Math.min(section, count - 1))];
+    }
+
+    /**
+     * Obtain section of a position
+     *
+     * @param position adapter position
+     * @return section index or -1 if no sections
+     * @since 0.5.0
+     */
+    public int getSectionForPosition(int position) {
+        if (count == 0) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(positions, 0, count, position);
+        return index >= 0 ? index : Math.max(0, -index - 2);
+    }
+
+    /**
+     * Obtain first section with a given key
+     *
+     * @param key section key
+     * @return section index or -1 if not found
+     * @since 0.5.0
+     */
+    public int getSectionForKey(@NonNull String key) {
+        for (int i = 0; i < count; i++) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Check if a position is the first of its section
+     *
+     * @param position adapter position
+     * @return true if section start
+     * @since 0.5.0
+     */
+    public boolean isSectionStart(int position) {
+        return count > 0 && Arrays.binarySearch(positions, 0, count, position) >= 0;
+    }
+
+    /**
+     * Provide section key of an item
+     *
+     * @param <T> type of item
+     * @since 0.5.0
+     */
+    public interface KeyProvider<T extends Item> {
+
+        /**
+         * Obtain section key of an item
+         *
+         * @param item item
+         * @return section key
+         * @since 0.5.0
+         */
+        @NonNull
+        String keyOf(@NonNull T item);
+    }
+
+    /**
+     * A {@link KeyProvider} using upper cased first letter of item name,
+     * items not starting with a letter are keyed {@code #}
+     *
+     * @param <T> type of item
+     * @since 0.5.0
+     */
+    public static class FirstLetterKeyProvider<T extends Item> implements KeyProvider<T> {
+
+        private static final String[] LETTERS = new String[128];
+
+        @NonNull
+        @Override
+        public String keyOf(@NonNull T item) {
+            String name = item.getName();
+            char first = name.isEmpty() ? '#' : Character.toUpperCase(name.charAt(0));
+            if (!Character.isLetter(first)) {
+                return "#";
+            }
+            // reuse ascii keys
+            if (first < LETTERS.length) {
+                String key = LETTERS[first];
+                if (key == null) {
+                    key = String.valueOf(first);
+                    LETTERS[first] = key;
+                }
+                return key;
+            }
+            return String.valueOf(first);
+        }
+    }
+}
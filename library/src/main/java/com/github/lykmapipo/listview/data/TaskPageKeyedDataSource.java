@@ -0,0 +1,386 @@
+package com.github.lykmapipo.listview.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.paging.DataSource;
+import androidx.paging.PageKeyedDataSource;
+
+import com.google.android.gms.tasks.CancellationToken;
+import com.google.android.gms.tasks.CancellationTokenSource;
+import com.google.android.gms.tasks.OnCompleteListener;
+import com.google.android.gms.tasks.Task;
+
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * A {@link PageKeyedDataSource} that load pages from a page numbered, {@link Task}
+ * returning backend.
+ * <p>
+ * Keys are offsets of next row to load, so an initial load larger than page size
+ * i.e {@link androidx.paging.PagedList.Config#initialLoadSizeHint} is followed by the
+ * page holding the first row not loaded yet, and rows already loaded are skipped.
+ * <p>
+ * Task continuations run on a background {@link Executor} and in-flight tasks are
+ * cancelled through a {@link CancellationToken} when the data source is invalidated.
+ * An in-flight append can also be cancelled alone with {@link #cancelAppend()} i.e once
+ * user scrolled away, and is loaded again on {@link #resumeAppend()}.
+ * Load outcomes are reported to an optional {@link LoadStateListener}.
+ *
+ * <pre>
+ * TaskPageKeyedDataSource.Factory&lt;Contact&gt; factory = new TaskPageKeyedDataSource.Factory&lt;&gt;(
+ *         (page, pageSize, token) -&gt; repository.getContacts(page, pageSize, token),
+ *         binder
+ * );
+ * binder.build(factory).observe(this, adapter::submitList);
+ * </pre>
+ *
+ * @param <T> type of item
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+public class TaskPageKeyedDataSource<T> extends PageKeyedDataSource<Integer, T> {
+
+    private static final int FIRST_PAGE = 1;
+    private static Executor defaultExecutor;
+
+    private final PageLoader<T> pageLoader;
+    private final Executor executor;
+    private final LoadStateListener loadStateListener;
+    private final CancellationTokenSource cancellationTokenSource = new CancellationTokenSource();
+
+    private volatile Runnable retry = null;
+
+    private final Object appendLock = new Object();
+    private CancellationTokenSource appendCancellation = null;
+    private Runnable cancelledAppend = null;
+    private boolean appendCancelling = false;
+    private boolean appendResumed = false;
+
+    public TaskPageKeyedDataSource(@NonNull PageLoader<T> pageLoader) {
+        this(pageLoader, null, getDefaultExecutor());
+    }
+
+    public TaskPageKeyedDataSource(
+            @NonNull PageLoader<T> pageLoader,
+            @Nullable LoadStateListener loadStateListener,
+            @NonNull Executor executor
+    ) {
+        this.pageLoader = pageLoader;
+        this.loadStateListener = loadStateListener;
+        this.executor = executor;
+
+        // cancel in-flight loads once invalidated
+        addInvalidatedCallback(() -> {
+            cancellationTokenSource.cancel();
+            cancelAppend();
+        });
+    }
+
+    @Override
+    public void loadInitial(
+            @NonNull LoadInitialParams<Integer> params,
+            @NonNull LoadInitialCallback<Integer, T> callback
+    ) {
+        notifyInitial(LoadState.LOADING);
+        CancellationToken token = cancellationTokenSource.getToken();
+        load(FIRST_PAGE, params.requestedLoadSize, token, new OnCompleteListener<List<T>>() {
+            @Override
+            public void onComplete(@NonNull Task<List<T>> task) {
+                if (task.isSuccessful()) {
+                    List<T> items = nonNull(task.getResult());
+                    retry = null;
+                    callback.onResult(items, null, nextKey(0, items));
+                    notifyInitial(items.isEmpty() ? LoadState.EMPTY : LoadState.LOADED);
+                } else if (!task.isCanceled()) {
+                    retry = () -> invalidate();
+                    notifyInitial(stateOf(task.getException()));
+                }
+            }
+        });
+    }
+
+    @Override
+    public void loadBefore(
+            @NonNull LoadParams<Integer> params,
+            @NonNull LoadCallback<Integer, T> callback
+    ) {
+        // pages are only appended
+    }
+
+    @Override
+    public void loadAfter(
+            @NonNull LoadParams<Integer> params,
+            @NonNull LoadCallback<Integer, T> callback
+    ) {
+        // page holding next row, skip rows already loaded
+        int offset = params.key;
+        int pageSize = Math.max(1, params.requestedLoadSize);
+        int page = FIRST_PAGE + offset / pageSize;
+        int skip = offset % pageSize;
+
+        // each append has its own token, cancelled alone or on invalidate
+        CancellationTokenSource cancellation = new CancellationTokenSource();
+        synchronized (appendLock) {
+            appendCancellation = cancellation;
+        }
+        if (isInvalid()) {
+            cancellation.cancel();
+        }
+
+        notifyAppend(LoadState.LOADING);
+        load(page, pageSize, cancellation.getToken(), new OnCompleteListener<List<T>>() {
+            @Override
+            public void onComplete(@NonNull Task<List<T>> task) {
+                if (task.isCanceled()) {
+                    onAppendCancelled(cancellation, () -> loadAfter(params, callback));
+                    return;
+                }
+                onAppendCompleted(cancellation);
+                if (task.isSuccessful()) {
+                    List<T> items = nonNull(task.getResult());
+                    items = items.subList(Math.min(skip, items.size()), items.size());
+                    retry = null;
+                    callback.onResult(items, nextKey(offset, items));
+                    notifyAppend(LoadState.LOADED);
+                } else {
+                    retry = () -> loadAfter(params, callback);
+                    notifyAppend(stateOf(task.getException()));
+                }
+            }
+        });
+    }
+
+    /**
+     * Retry latest failed load, a failed append is loaded again with its original
+     * callback so loaded pages are kept
+     *
+     * @return true if a failed load was retried
+     * @since 0.5.0
+     */
+    public boolean retry() {
+        Runnable retry = this.retry;
+        this.retry = null;
+        if (retry != null) {
+            executor.execute(retry);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Cancel in-flight append i.e once user scrolled away from list end.
+     * <p>
+     * Note: paged list wait for the cancelled append, call {@link #resumeAppend()}
+     * once items are needed again
+     *
+     * @return true if an append was in-flight
+     * @since 0.5.0
+     */
+    public boolean cancelAppend() {
+        CancellationTokenSource cancellation;
+        synchronized (appendLock) {
+            cancellation = appendCancellation;
+            appendCancellation = null;
+            appendCancelling = cancellation != null || appendCancelling;
+            appendResumed = false;
+        }
+        if (cancellation == null) {
+            return false;
+        }
+        cancellation.cancel();
+        return true;
+    }
+
+    /**
+     * Load again an append cancelled by {@link #cancelAppend()}
+     *
+     * @return true if a cancelled append is loaded again
+     * @since 0.5.0
+     */
+    public boolean resumeAppend() {
+        Runnable append;
+        synchronized (appendLock) {
+            append = cancelledAppend;
+            cancelledAppend = null;
+            if (append == null) {
+                // resume once cancellation completes
+                appendResumed = appendCancelling;
+                return appendCancelling;
+            }
+        }
+        executor.execute(append);
+        return true;
+    }
+
+    /**
+     * Check if a load failure is due to lack of connectivity
+     *
+     * @param exception load failure
+     * @return true if offline
+     * @since 0.5.0
+     */
+    protected boolean isOffline(@Nullable Exception exception) {
+        return exception instanceof UnknownHostException
+                || exception instanceof ConnectException;
+    }
+
+    private void load(
+            int page, int pageSize, CancellationToken token,
+            OnCompleteListener<List<T>> listener
+    ) {
+        pageLoader.load(page, pageSize, token).addOnCompleteListener(executor, listener);
+    }
+
+    private void onAppendCompleted(CancellationTokenSource cancellation) {
+        synchronized (appendLock) {
+            if (appendCancellation == cancellation) {
+                appendCancellation = null;
+            }
+            appendCancelling = false;
+            appendResumed = false;
+        }
+    }
+
+    private void onAppendCancelled(CancellationTokenSource cancellation, Runnable append) {
+        if (isInvalid()) {
+            return;
+        }
+        boolean resumed;
+        synchronized (appendLock) {
+            if (appendCancellation == cancellation) {
+                appendCancellation = null;
+            }
+            resumed = appendResumed;
+            cancelledAppend = resumed ? null : append;
+            appendCancelling = false;
+            appendResumed = false;
+        }
+
+        // load again right away if resumed while cancelling
+        if (resumed) {
+            append.run();
+        } else {
+            notifyAppend(LoadState.LOADED);
+        }
+    }
+
+    private LoadState stateOf(Exception exception) {
+        return isOffline(exception) ? LoadState.OFFLINE : LoadState.ERROR;
+    }
+
+    private void notifyInitial(LoadState state) {
+        if (loadStateListener != null && !isInvalid()) {
+            loadStateListener.onInitialLoadStateChanged(state);
+        }
+    }
+
+    private void notifyAppend(LoadState state) {
+        if (loadStateListener != null && !isInvalid()) {
+            loadStateListener.onAppendLoadStateChanged(state);
+        }
+    }
+
+    private static Integer nextKey(int offset, List<?> items) {
+        return items.isEmpty() ? null : offset + items.size();
+    }
+
+    private static <T> List<T> nonNull(List<T> items) {
+        return items != null ? items : new ArrayList<>();
+    }
+
+    private static synchronized Executor getDefaultExecutor() {
+        if (defaultExecutor == null) {
+            defaultExecutor = Executors.newFixedThreadPool(2);
+        }
+        return defaultExecutor;
+    }
+
+    /**
+     * Load a page of items from a backend
+     *
+     * @param <T> type of item
+     * @since 0.5.0
+     */
+    public interface PageLoader<T> {
+
+        /**
+         * Load a page
+         *
+         * @param page     page number in units of page size, starting at 1
+         * @param pageSize number of items requested
+         * @param token    token cancelled once page is no longer needed
+         * @return {@link Task} of page items
+         * @since 0.5.0
+         */
+        @NonNull
+        Task<List<T>> load(int page, int pageSize, @NonNull CancellationToken token);
+    }
+
+    /**
+     * A {@link DataSource.Factory} of {@link TaskPageKeyedDataSource}
+     *
+     * @param <T> type of item
+     * @since 0.5.0
+     */
+    public static class Factory<T> extends DataSource.Factory<Integer, T> {
+
+        private final PageLoader<T> pageLoader;
+        private final LoadStateListener loadStateListener;
+        private final Executor executor;
+        private volatile TaskPageKeyedDataSource<T> dataSource;
+
+        public Factory(@NonNull PageLoader<T> pageLoader) {
+            this(pageLoader, null);
+        }
+
+        public Factory(
+                @NonNull PageLoader<T> pageLoader, @Nullable LoadStateListener loadStateListener
+        ) {
+            this(pageLoader, loadStateListener, getDefaultExecutor());
+        }
+
+        public Factory(
+                @NonNull PageLoader<T> pageLoader,
+                @Nullable LoadStateListener loadStateListener,
+                @NonNull Executor executor
+        ) {
+            this.pageLoader = pageLoader;
+            this.loadStateListener = loadStateListener;
+            this.executor = executor;
+        }
+
+        @NonNull
+        @Override
+        public DataSource<Integer, T> create() {
+            dataSource = new TaskPageKeyedDataSource<>(pageLoader, loadStateListener, executor);
+            return dataSource;
+        }
+
+        /**
+         * Obtain latest created data source
+         *
+         * @return {@link TaskPageKeyedDataSource} or null
+         * @since 0.5.0
+         */
+        @Nullable
+        public TaskPageKeyedDataSource<T> getDataSource() {
+            return dataSource;
+        }
+
+        /**
+         * Retry latest failed load of latest created data source
+         *
+         * @return true if a failed load was retried
+         * @since 0.5.0
+         */
+        public boolean retry() {
+            TaskPageKeyedDataSource<T> dataSource = this.dataSource;
+            return dataSource != null && dataSource.retry();
+        }
+    }
+}
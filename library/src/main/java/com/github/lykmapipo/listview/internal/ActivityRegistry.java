@@ -0,0 +1,162 @@
+package com.github.lykmapipo.listview.internal;
+
+import android.app.Activity;
+import android.app.Application;
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Values kept per context hosted by an {@link Activity} i.e pools, dropped once the
+ * activity is destroyed.
+ * <p>
+ * Contexts are held weakly and values of a destroyed activity are handed to an
+ * {@link OnDestroyListener} to release what they hold. Contexts not hosted by an
+ * activity have no such signal and are not kept.
+ * <p>
+ * Note: library internal, shared by view and recycler view pools.
+ *
+ * @param <V> type of value
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY)
+public final class ActivityRegistry<V> {
+
+    private final Map<Context, V> values = new WeakHashMap<>();
+    private final OnDestroyListener<V> onDestroyListener;
+    private boolean lifecycleRegistered = false;
+
+    public ActivityRegistry(@NonNull OnDestroyListener<V> onDestroyListener) {
+        this.onDestroyListener = onDestroyListener;
+    }
+
+    /**
+     * Obtain value kept for a given context
+     *
+     * @param context valid context
+     * @return value or null if none kept
+     * @since 0.5.0
+     */
+    @Nullable
+    public synchronized V get(@NonNull Context context) {
+        return values.get(context);
+    }
+
+    /**
+     * Keep value for a given context until its activity is destroyed
+     *
+     * @param context valid context
+     * @param value   valid value
+     * @return true if kept or false if context is not hosted by an activity
+     * @since 0.5.0
+     */
+    public synchronized boolean put(@NonNull Context context, @NonNull V value) {
+        Activity activity = findActivity(context);
+        if (activity == null) {
+            return false;
+        }
+
+        values.put(context, value);
+        registerLifecycle(activity);
+        return true;
+    }
+
+    /**
+     * Find activity hosting a given context
+     *
+     * @param context valid context
+     * @return {@link Activity} or null if context is not hosted by an activity
+     * @since 0.5.0
+     */
+    @Nullable
+    public static Activity findActivity(@Nullable Context context) {
+        while (context instanceof ContextWrapper) {
+            if (context instanceof Activity) {
+                return (Activity) context;
+            }
+            context = ((ContextWrapper) context).getBaseContext();
+        }
+        return null;
+    }
+
+    private void registerLifecycle(@NonNull Activity activity) {
+        if (lifecycleRegistered) {
+            return;
+        }
+
+        activity.getApplication().registerActivityLifecycleCallbacks(new LifecycleCallbacks());
+        lifecycleRegistered = true;
+    }
+
+    private void onActivityDestroyed(@NonNull Activity activity) {
+        List<V> destroyed = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Map.Entry<Context, V>> iterator = values.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Context, V> entry = iterator.next();
+                if (findActivity(entry.getKey()) == activity) {
+                    destroyed.add(entry.getValue());
+                    iterator.remove();
+                }
+            }
+        }
+
+        // release outside the lock, values may lock themselves
+        for (V value : destroyed) {
+            onDestroyListener.onDestroy(value);
+        }
+    }
+
+    /**
+     * Release value of a destroyed activity
+     *
+     * @param <V> type of value
+     * @since 0.5.0
+     */
+    public interface OnDestroyListener<V> {
+        void onDestroy(@NonNull V value);
+    }
+
+    private class LifecycleCallbacks implements Application.ActivityLifecycleCallbacks {
+
+        @Override
+        public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+        }
+
+        @Override
+        public void onActivityStarted(Activity activity) {
+        }
+
+        @Override
+        public void onActivityResumed(Activity activity) {
+        }
+
+        @Override
+        public void onActivityPaused(Activity activity) {
+        }
+
+        @Override
+        public void onActivityStopped(Activity activity) {
+        }
+
+        @Override
+        public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+        }
+
+        @Override
+        public void onActivityDestroyed(Activity activity) {
+            ActivityRegistry.this.onActivityDestroyed(activity);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.github.lykmapipo.listview.metrics;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * A fixed size histogram of latencies in nanoseconds.
+ * <p>
+ * Values are recorded into log-linear buckets, four per power of two, so recording
+ * never allocate and reported values are within 25% of recorded ones.
+ *
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long count = 0;
+    private long totalNanos = 0;
+    private long maxNanos = 0;
+
+    /**
+     * Record a latency
+     *
+     * @param nanos latency in nanoseconds
+     * @since 0.5.0
+     */
+    public synchronized void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[indexOf(value)]++;
+        count++;
+        totalNanos += value;
+        maxNanos = Math.max(maxNanos, value);
+    }
+
+    /**
+     * Obtain number of recorded latencies
+     *
+     * @return count
+     * @since 0.5.0
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Obtain sum of recorded latencies
+     *
+     * @return total in nanoseconds
+     * @since 0.5.0
+     */
+    public synchronized long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Obtain largest recorded latency
+     *
+     * @return max in nanoseconds
+     * @since 0.5.0
+     */
+    public synchronized long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Obtain mean of recorded latencies
+     *
+     * @return mean in nanoseconds
+     * @since 0.5.0
+     */
+    public synchronized long getMeanNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    /**
+     * Obtain latency at or below which a given percentage of latencies fall
+     *
+     * @param percentile percentile i.e 50, 90 or 99
+     * @return latency in nanoseconds
+     * @since 0.5.0
+     */
+    public synchronized long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(1, rank)) {
+                return Math.min(maxNanos, upperBoundOf(i));
+            }
+        }
+        return maxNanos;
+    }
+
+    /**
+     * Obtain number of buckets
+     *
+     * @return bucket count
+     * @since 0.5.0
+     */
+    public int getBucketCount() {
+        return BUCKET_COUNT;
+    }
+
+    /**
+     * Obtain smallest latency recorded into a bucket
+     *
+     * @param index bucket index
+     * @return lower bound in nanoseconds
+     * @since 0.5.0
+     */
+    public long getBucketLowerBound(int index) {
+        return lowerBoundOf(index);
+    }
+
+    /**
+     * Copy bucket counts i.e to export without holding the histogram
+     *
+     * @param into array of at least {@link #getBucketCount()} length
+     * @since 0.5.0
+     */
+    public synchronized void copyCounts(@NonNull long[] into) {
+        System.arraycopy(counts, 0, into, 0, BUCKET_COUNT);
+    }
+
+    /**
+     * Clear recorded latencies
+     *
+     * @since 0.5.0
+     */
+    public synchronized void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (msb - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (msb - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long lowerBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int msb = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long sub = index % SUB_BUCKETS;
+        return (SUB_BUCKETS + sub) << (msb - SUB_BUCKET_BITS);
+    }
+
+    private static long upperBoundOf(int index) {
+        return index + 1 < BUCKET_COUNT ? lowerBoundOf(index + 1) - 1 : Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,351 @@
+package com.github.lykmapipo.listview.metrics;
+
+import android.util.SparseArray;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * An opt-in recorder of list component metrics.
+ * <p>
+ * Once enabled it record view holder create and bind latency per view type, diff
+ * computation time, {@link com.github.lykmapipo.listview.view.StateLayout} transition
+ * count and duration per state and state/loading view inflation counts. Recording
+ * only update primitive counters and {@link LatencyHistogram} buckets, when disabled
+ * it cost a single volatile read, no lock is taken.
+ *
+ * <pre>
+ * ListMetrics metrics = ListMetrics.getInstance();
+ * metrics.addListener(m -&gt; telemetry.send(m.getBindLatency(VIEW_TYPE_CONTACT)));
+ * metrics.setEnabled(true);
+ * //...
+ * metrics.report();
+ * </pre>
+ *
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+public final class ListMetrics {
+
+    /**
+     * State id used for states shown without a registered id
+     */
+    public static final int STATE_UNKNOWN = -1;
+
+    private static final ListMetrics INSTANCE = new ListMetrics();
+
+    private final SparseArray<LatencyHistogram> createLatencies = new SparseArray<>();
+    private final SparseArray<LatencyHistogram> bindLatencies = new SparseArray<>();
+    private final SparseArray<LatencyHistogram> transitionLatencies = new SparseArray<>();
+    private final LatencyHistogram diffLatency = new LatencyHistogram();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean enabled = false;
+    private int stateViewInflationCount = 0;
+    private int loadingViewInflationCount = 0;
+
+    private ListMetrics() {
+    }
+
+    /**
+     * Obtain application wide metrics
+     *
+     * @return {@link ListMetrics}
+     * @since 0.5.0
+     */
+    @NonNull
+    public static ListMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Enable or disable recording
+     *
+     * @param enabled true to record
+     * @since 0.5.0
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Check if recording is enabled
+     *
+     * @return true if enabled
+     * @since 0.5.0
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Obtain start time of a measured operation
+     *
+     * @return time in nanoseconds or 0 if disabled
+     * @since 0.5.0
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Record view holder create latency
+     *
+     * @param viewType view type
+     * @param start    value returned by {@link #start()}
+     * @since 0.5.0
+     */
+    public void recordCreate(int viewType, long start) {
+        if (start != 0) {
+            record(createLatencies, viewType, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Record view holder bind latency
+     *
+     * @param viewType view type
+     * @param start    value returned by {@link #start()}
+     * @since 0.5.0
+     */
+    public void recordBind(int viewType, long start) {
+        if (start != 0) {
+            record(bindLatencies, viewType, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Record diff computation latency
+     *
+     * @param start value returned by {@link #start()}
+     * @since 0.5.0
+     */
+    public void recordDiff(long start) {
+        if (start != 0) {
+            diffLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Record state layout transition latency
+     *
+     * @param stateId state id i.e {@link com.github.lykmapipo.listview.view.StateRegistry#STATE_EMPTY}
+     * @param start   value returned by {@link #start()}
+     * @since 0.5.0
+     */
+    public void recordTransition(int stateId, long start) {
+        if (start != 0) {
+            record(transitionLatencies, stateId, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Record state view inflation
+     *
+     * @since 0.5.0
+     */
+    public void recordStateViewInflation() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            stateViewInflationCount++;
+        }
+    }
+
+    /**
+     * Record loading view inflation
+     *
+     * @since 0.5.0
+     */
+    public void recordLoadingViewInflation() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            loadingViewInflationCount++;
+        }
+    }
+
+    /**
+     * Obtain view holder create latency of a view type
+     *
+     * @param viewType view type
+     * @return {@link LatencyHistogram} or null if none recorded
+     * @since 0.5.0
+     */
+    @Nullable
+    public synchronized LatencyHistogram getCreateLatency(int viewType) {
+        return createLatencies.get(viewType);
+    }
+
+    /**
+     * Obtain view holder bind latency of a view type
+     *
+     * @param viewType view type
+     * @return {@link LatencyHistogram} or null if none recorded
+     * @since 0.5.0
+     */
+    @Nullable
+    public synchronized LatencyHistogram getBindLatency(int viewType) {
+        return bindLatencies.get(viewType);
+    }
+
+    /**
+     * Obtain diff computation latency
+     *
+     * @return {@link LatencyHistogram}
+     * @since 0.5.0
+     */
+    @NonNull
+    public LatencyHistogram getDiffLatency() {
+        return diffLatency;
+    }
+
+    /**
+     * Obtain transition latency of a state, its count is the transition count
+     *
+     * @param stateId state id
+     * @return {@link LatencyHistogram} or null if none recorded
+     * @since 0.5.0
+     */
+    @Nullable
+    public synchronized LatencyHistogram getTransitionLatency(int stateId) {
+        return transitionLatencies.get(stateId);
+    }
+
+    /**
+     * Obtain view types with recorded create or bind latency
+     *
+     * @return view types
+     * @since 0.5.0
+     */
+    @NonNull
+    public synchronized int[] getViewTypes() {
+        int[] viewTypes = new int[createLatencies.size() + bindLatencies.size()];
+        int size = 0;
+        for (int i = 0; i < createLatencies.size(); i++) {
+            viewTypes[size++] = createLatencies.keyAt(i);
+        }
+        for (int i = 0; i < bindLatencies.size(); i++) {
+            if (createLatencies.indexOfKey(bindLatencies.keyAt(i)) < 0) {
+                viewTypes[size++] = bindLatencies.keyAt(i);
+            }
+        }
+        int[] result = new int[size];
+        System.arraycopy(viewTypes, 0, result, 0, size);
+        return result;
+    }
+
+    /**
+     * Obtain state ids with recorded transitions
+     *
+     * @return state ids
+     * @since 0.5.0
+     */
+    @NonNull
+    public synchronized int[] getStateIds() {
+        int[] stateIds = new int[transitionLatencies.size()];
+        for (int i = 0; i < stateIds.length; i++) {
+            stateIds[i] = transitionLatencies.keyAt(i);
+        }
+        return stateIds;
+    }
+
+    /**
+     * Obtain number of state views inflated
+     *
+     * @return inflation count
+     * @since 0.5.0
+     */
+    public synchronized int getStateViewInflationCount() {
+        return stateViewInflationCount;
+    }
+
+    /**
+     * Obtain number of loading views inflated
+     *
+     * @return inflation count
+     * @since 0.5.0
+     */
+    public synchronized int getLoadingViewInflationCount() {
+        return loadingViewInflationCount;
+    }
+
+    /**
+     * Add listener to receive reports
+     *
+     * @param listener valid listener
+     * @since 0.5.0
+     */
+    public void addListener(@NonNull Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove report listener
+     *
+     * @param listener listener to remove
+     * @since 0.5.0
+     */
+    public void removeListener(@NonNull Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Deliver current metrics to listeners
+     *
+     * @since 0.5.0
+     */
+    public void report() {
+        for (Listener listener : listeners) {
+            listener.onMetricsReport(this);
+        }
+    }
+
+    /**
+     * Clear recorded metrics
+     *
+     * @since 0.5.0
+     */
+    public synchronized void reset() {
+        createLatencies.clear();
+        bindLatencies.clear();
+        transitionLatencies.clear();
+        diffLatency.reset();
+        stateViewInflationCount = 0;
+        loadingViewInflationCount = 0;
+    }
+
+    private void record(SparseArray<LatencyHistogram> latencies, int key, long nanos) {
+        LatencyHistogram latency;
+        synchronized (this) {
+            // first record of a key allocate its histogram
+            latency = latencies.get(key);
+            if (latency == null) {
+                latency = new LatencyHistogram();
+                latencies.put(key, latency);
+            }
+        }
+        latency.record(nanos);
+    }
+
+    /**
+     * Receive metrics reports i.e to export to telemetry
+     *
+     * @since 0.5.0
+     */
+    public interface Listener {
+
+        /**
+         * Called when metrics are reported
+         *
+         * @param metrics current metrics
+         * @since 0.5.0
+         */
+        void onMetricsReport(@NonNull ListMetrics metrics);
+    }
+}
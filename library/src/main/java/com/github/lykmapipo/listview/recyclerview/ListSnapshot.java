@@ -0,0 +1,273 @@
+package com.github.lykmapipo.listview.recyclerview;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.github.lykmapipo.listview.adapter.ItemListAdapter;
+import com.github.lykmapipo.listview.data.Item;
+import com.github.lykmapipo.listview.data.PageCache;
+import com.github.lykmapipo.listview.view.StateLayout;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A compact snapshot of a list scroll position and the items loaded around its viewport,
+ * used to restore large lists instantly i.e after process death.
+ * <p>
+ * Snapshot serialize to a small byte array that fit in saved state or a file:
+ *
+ * <pre>
+ * protected void onSaveInstanceState(Bundle outState) {
+ *     ListSnapshot&lt;Contact&gt; snapshot = ListSnapshot.capture(recyclerView, adapter.getCurrentList(), 50, pageKeys);
+ *     outState.putByteArray(KEY_SNAPSHOT, snapshot.toByteArray(codec));
+ * }
+ *
+ * protected void onCreate(Bundle savedInstanceState) {
+ *     //...
+ *     byte[] bytes = savedInstanceState.getByteArray(KEY_SNAPSHOT);
+ *     ListSnapshot.fromByteArray(bytes, codec).restore(stateLayout, recyclerView, adapter);
+ * }
+ * </pre>
+ * <p>
+ * Note: only items around the viewport are kept, restored list starts at
+ * {@link #getWindowStart()} so adapter positions are shifted until the full list is
+ * submitted i.e once paged data source is seeded with {@link #getPageKeys()}.
+ *
+ * @param <T> type of item
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+public final class ListSnapshot<T extends Item> {
+
+    private static final int VERSION = 1;
+
+    private final int anchorPosition;
+    private final int anchorOffset;
+    private final int windowStart;
+    private final int[] pageKeys;
+    private final List<T> items;
+
+    public ListSnapshot(
+            int anchorPosition, int anchorOffset, int windowStart,
+            @NonNull int[] pageKeys, @NonNull List<T> items
+    ) {
+        this.anchorPosition = anchorPosition;
+        this.anchorOffset = anchorOffset;
+        this.windowStart = windowStart;
+        this.pageKeys = pageKeys.clone();
+        this.items = Collections.unmodifiableList(new ArrayList<>(items));
+    }
+
+    /**
+     * Capture snapshot of a recycler view laid out by a {@link LinearLayoutManager}
+     *
+     * @param recyclerView valid recycler view
+     * @param items        all loaded items
+     * @param windowSize   number of items to keep around anchor
+     * @param pageKeys     loaded page keys or empty
+     * @param <T>          type of item
+     * @return {@link ListSnapshot}
+     * @since 0.5.0
+     */
+    @NonNull
+    public static <T extends Item> ListSnapshot<T> capture(
+            @NonNull RecyclerView recyclerView, @NonNull List<T> items,
+            int windowSize, @NonNull int[] pageKeys
+    ) {
+        int anchorPosition = 0;
+        int anchorOffset = 0;
+
+        // find first visible item and its offset
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        if (layoutManager instanceof LinearLayoutManager) {
+            LinearLayoutManager linearLayoutManager = (LinearLayoutManager) layoutManager;
+            anchorPosition = Math.max(0, linearLayoutManager.findFirstVisibleItemPosition());
+            View anchor = linearLayoutManager.findViewByPosition(anchorPosition);
+            if (anchor != null) {
+                anchorOffset = linearLayoutManager.getOrientation() == RecyclerView.VERTICAL
+                        ? anchor.getTop() - recyclerView.getPaddingTop()
+                        : anchor.getLeft() - recyclerView.getPaddingLeft();
+            }
+        }
+
+        // keep items around anchor
+        int size = items.size();
+        int windowStart = Math.max(0, Math.min(anchorPosition - windowSize / 2, size - windowSize));
+        int windowEnd = Math.min(size, windowStart + windowSize);
+        List<T> window = items.subList(Math.min(windowStart, windowEnd), windowEnd);
+
+        return new ListSnapshot<>(anchorPosition, anchorOffset, windowStart, pageKeys, window);
+    }
+
+    /**
+     * Read snapshot from bytes
+     *
+     * @param bytes snapshot bytes
+     * @param codec item codec
+     * @param <T>   type of item
+     * @return {@link ListSnapshot} or null if bytes are not a valid snapshot
+     * @since 0.5.0
+     */
+    @Nullable
+    public static <T extends Item> ListSnapshot<T> fromByteArray(
+            @Nullable byte[] bytes, @NonNull PageCache.Codec<T> codec
+    ) {
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            if (in.readInt() != VERSION) {
+                return null;
+            }
+            int anchorPosition = in.readInt();
+            int anchorOffset = in.readInt();
+            int windowStart = in.readInt();
+
+            // ensure counts fit in remaining bytes before allocating
+            int pageKeyCount = in.readInt();
+            if (pageKeyCount < 0 || pageKeyCount > in.available() / 4) {
+                return null;
+            }
+            int[] pageKeys = new int[pageKeyCount];
+            for (int i = 0; i < pageKeys.length; i++) {
+                pageKeys[i] = in.readInt();
+            }
+            int count = in.readInt();
+            if (count < 0 || count > in.available()) {
+                return null;
+            }
+            List<T> items = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                items.add(codec.read(in));
+            }
+            return new ListSnapshot<>(anchorPosition, anchorOffset, windowStart, pageKeys, items);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Write snapshot to bytes
+     *
+     * @param codec item codec
+     * @return snapshot bytes
+     * @since 0.5.0
+     */
+    @NonNull
+    public byte[] toByteArray(@NonNull PageCache.Codec<T> codec) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(VERSION);
+            out.writeInt(anchorPosition);
+            out.writeInt(anchorOffset);
+            out.writeInt(windowStart);
+            out.writeInt(pageKeys.length);
+            for (int pageKey : pageKeys) {
+                out.writeInt(pageKey);
+            }
+            out.writeInt(items.size());
+            for (T item : items) {
+                codec.write(out, item);
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write snapshot", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Restore snapshot items and scroll position, then show content
+     * skipping loading state
+     * <p>
+     * Note: only snapshot items are submitted, item at adapter position {@code 0}
+     * is the one captured at {@link #getWindowStart()}. Submit the full list once
+     * loaded, it replaces snapshot items and restore original positions.
+     *
+     * @param stateLayout  state layout hosting recycler view
+     * @param recyclerView valid recycler view
+     * @param adapter      adapter to submit snapshot items to
+     * @since 0.5.0
+     */
+    public void restore(
+            @NonNull StateLayout stateLayout, @NonNull RecyclerView recyclerView,
+            @NonNull ItemListAdapter<T, ?> adapter
+    ) {
+        adapter.submitList(items);
+
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        int position = Math.max(0, Math.min(anchorPosition - windowStart, items.size() - 1));
+        if (layoutManager instanceof LinearLayoutManager) {
+            ((LinearLayoutManager) layoutManager).scrollToPositionWithOffset(position, anchorOffset);
+        } else if (layoutManager != null) {
+            layoutManager.scrollToPosition(position);
+        }
+
+        stateLayout.showContent();
+    }
+
+    /**
+     * Obtain adapter position of first visible item when captured
+     *
+     * @return anchor position
+     * @since 0.5.0
+     */
+    public int getAnchorPosition() {
+        return anchorPosition;
+    }
+
+    /**
+     * Obtain offset of first visible item when captured
+     *
+     * @return anchor offset in pixels
+     * @since 0.5.0
+     */
+    public int getAnchorOffset() {
+        return anchorOffset;
+    }
+
+    /**
+     * Obtain adapter position of first snapshot item
+     *
+     * @return window start position
+     * @since 0.5.0
+     */
+    public int getWindowStart() {
+        return windowStart;
+    }
+
+    /**
+     * Obtain loaded page keys i.e to seed paged data source initial key
+     *
+     * @return page keys
+     * @since 0.5.0
+     */
+    @NonNull
+    public int[] getPageKeys() {
+        return pageKeys.clone();
+    }
+
+    /**
+     * Obtain items loaded around viewport
+     *
+     * @return items
+     * @since 0.5.0
+     */
+    @NonNull
+    public List<T> getItems() {
+        return items;
+    }
+}
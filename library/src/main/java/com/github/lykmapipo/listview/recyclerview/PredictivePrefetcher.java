@@ -0,0 +1,337 @@
+package com.github.lykmapipo.listview.recyclerview;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.paging.DataSource;
+import androidx.paging.PagedList;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.github.lykmapipo.listview.data.TaskPageKeyedDataSource;
+
+/**
+ * A {@link RecyclerView.OnScrollListener} that adjust how many pages ahead are requested
+ * based on scroll velocity and direction.
+ * <p>
+ * While user scroll, velocity in items per millisecond is tracked and translated into
+ * a number of pages bounded by min and max pages ahead. Nothing is requested while list
+ * is idle. Once scroll direction is reversed for at least a page, prefetch targeting the
+ * abandoned region is cancelled, so short reversals i.e fling jitter keep pending loads.
+ *
+ * <pre>
+ * recyclerView.addOnScrollListener(new PredictivePrefetcher(
+ *         pageSize, new PredictivePrefetcher.PagedListTarget<>(adapter::getCurrentList)
+ * ));
+ * </pre>
+ *
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+public class PredictivePrefetcher extends RecyclerView.OnScrollListener {
+
+    private static final int DEFAULT_MIN_PAGES_AHEAD = 1;
+    private static final int DEFAULT_MAX_PAGES_AHEAD = 5;
+    private static final long DEFAULT_LOOKAHEAD = 1000L;
+
+    private final int pageSize;
+    private final Target target;
+
+    private int minPagesAhead = DEFAULT_MIN_PAGES_AHEAD;
+    private int maxPagesAhead = DEFAULT_MAX_PAGES_AHEAD;
+    private long lookahead = DEFAULT_LOOKAHEAD;
+
+    private int lastPosition = RecyclerView.NO_POSITION;
+    private long lastTime = 0;
+    private float velocity = 0;
+    private int direction = 0;
+    private int reversedFrom = RecyclerView.NO_POSITION;
+    private int pagesAhead = DEFAULT_MIN_PAGES_AHEAD;
+    private int requestedPosition = RecyclerView.NO_POSITION;
+
+    private int prefetchCount = 0;
+    private int cancelCount = 0;
+
+    public PredictivePrefetcher(int pageSize, @NonNull Target target) {
+        this.pageSize = Math.max(1, pageSize);
+        this.target = target;
+    }
+
+    /**
+     * Set bounds of pages requested ahead of viewport
+     *
+     * @param minPagesAhead minimum pages ahead while scrolling
+     * @param maxPagesAhead maximum pages ahead on fast fling
+     * @since 0.5.0
+     */
+    public void setPagesAhead(int minPagesAhead, int maxPagesAhead) {
+        this.minPagesAhead = Math.max(0, minPagesAhead);
+        this.maxPagesAhead = Math.max(this.minPagesAhead, maxPagesAhead);
+    }
+
+    /**
+     * Set how far in time scroll velocity is projected
+     *
+     * @param lookahead lookahead in milliseconds
+     * @since 0.5.0
+     */
+    public void setLookahead(long lookahead) {
+        this.lookahead = Math.max(0, lookahead);
+    }
+
+    /**
+     * Obtain current number of pages requested ahead
+     *
+     * @return pages ahead
+     * @since 0.5.0
+     */
+    public int getPagesAhead() {
+        return pagesAhead;
+    }
+
+    /**
+     * Obtain number of prefetch requests issued
+     *
+     * @return prefetch count
+     * @since 0.5.0
+     */
+    public int getPrefetchCount() {
+        return prefetchCount;
+    }
+
+    /**
+     * Obtain number of prefetch requests cancelled
+     *
+     * @return cancel count
+     * @since 0.5.0
+     */
+    public int getCancelCount() {
+        return cancelCount;
+    }
+
+    @Override
+    public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+        // throttle when idle
+        if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+            velocity = 0;
+            lastPosition = RecyclerView.NO_POSITION;
+        }
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        if (!(layoutManager instanceof LinearLayoutManager)
+                || recyclerView.getScrollState() == RecyclerView.SCROLL_STATE_IDLE) {
+            return;
+        }
+        LinearLayoutManager linearLayoutManager = (LinearLayoutManager) layoutManager;
+        int first = linearLayoutManager.findFirstVisibleItemPosition();
+        int last = linearLayoutManager.findLastVisibleItemPosition();
+        if (first == RecyclerView.NO_POSITION) {
+            return;
+        }
+        onScrolled(first, last, dx + dy, SystemClock.uptimeMillis());
+    }
+
+    /**
+     * Record visible range after a scroll
+     *
+     * @param first first visible position
+     * @param last  last visible position
+     * @param delta scrolled pixels, negative when scrolling backward
+     * @param time  uptime in milliseconds
+     * @since 0.5.0
+     */
+    void onScrolled(int first, int last, int delta, long time) {
+        // track velocity in items per millisecond
+        if (lastPosition != RecyclerView.NO_POSITION && time > lastTime) {
+            float instant = (float) Math.abs(first - lastPosition) / (time - lastTime);
+            velocity = velocity == 0 ? instant : (velocity + instant) / 2;
+        }
+        lastPosition = first;
+        lastTime = time;
+
+        int newDirection = Integer.signum(delta);
+        if (newDirection == 0) {
+            return;
+        }
+
+        // track reversal, forgiven when direction is restored
+        if (direction != 0 && newDirection != direction) {
+            reversedFrom = reversedFrom == RecyclerView.NO_POSITION ? first : RecyclerView.NO_POSITION;
+        }
+        direction = newDirection;
+
+        // cancel prefetch of abandoned region once reversed for a page
+        if (reversedFrom != RecyclerView.NO_POSITION && Math.abs(first - reversedFrom) >= pageSize) {
+            reversedFrom = RecyclerView.NO_POSITION;
+            if (requestedPosition != RecyclerView.NO_POSITION) {
+                target.cancel();
+                cancelCount++;
+                requestedPosition = RecyclerView.NO_POSITION;
+            }
+        }
+
+        // project velocity into pages ahead
+        int projected = (int) Math.ceil(velocity * lookahead / pageSize);
+        pagesAhead = Math.max(minPagesAhead, Math.min(maxPagesAhead, projected));
+        int position = direction > 0
+                ? last + pagesAhead * pageSize
+                : Math.max(0, first - pagesAhead * pageSize);
+
+        // request once per half page moved
+        if (requestedPosition == RecyclerView.NO_POSITION
+                || Math.abs(position - requestedPosition) >= Math.max(1, pageSize / 2)) {
+            requestedPosition = position;
+            target.prefetch(position);
+            prefetchCount++;
+        }
+    }
+
+    /**
+     * Load data ahead of viewport
+     *
+     * @since 0.5.0
+     */
+    public interface Target {
+
+        /**
+         * Ensure data around a given position is loaded
+         *
+         * @param position adapter position, may be beyond loaded items
+         * @since 0.5.0
+         */
+        void prefetch(int position);
+
+        /**
+         * Cancel pending prefetch, user scrolled away for at least a page
+         *
+         * @since 0.5.0
+         */
+        void cancel();
+    }
+
+    /**
+     * Provide current {@link PagedList}
+     *
+     * @param <T> type of item
+     * @since 0.5.0
+     */
+    public interface PagedListProvider<T> {
+
+        /**
+         * Obtain current paged list
+         *
+         * @return {@link PagedList} or null
+         * @since 0.5.0
+         */
+        @Nullable
+        PagedList<T> get();
+    }
+
+    /**
+     * A {@link Target} that prefetch using {@link PagedList#loadAround(int)}.
+     * <p>
+     * Without placeholders a paged list only contains loaded items, so positions
+     * beyond its end are reached by loading around last loaded item each time a page
+     * is appended, until requested position is loaded.
+     * <p>
+     * Cancel stop further prefetch and, when paged list is backed by a
+     * {@link TaskPageKeyedDataSource}, cancel its in-flight append. The append is
+     * resumed on next prefetch toward the end or near the end of loaded items.
+     *
+     * @param <T> type of item
+     * @since 0.5.0
+     */
+    public static class PagedListTarget<T> implements Target {
+
+        private final PagedListProvider<T> provider;
+        private final PagedList.Callback callback = new PagedList.Callback() {
+            @Override
+            public void onChanged(int position, int count) {
+            }
+
+            @Override
+            public void onInserted(int position, int count) {
+                loadTowardTarget();
+            }
+
+            @Override
+            public void onRemoved(int position, int count) {
+            }
+        };
+
+        private PagedList<T> pagedList = null;
+        private int targetPosition = RecyclerView.NO_POSITION;
+        private int prefetchedPosition = RecyclerView.NO_POSITION;
+
+        public PagedListTarget(@NonNull PagedListProvider<T> provider) {
+            this.provider = provider;
+        }
+
+        @Override
+        public void prefetch(int position) {
+            PagedList<T> pagedList = provider.get();
+            if (pagedList == null || pagedList.size() == 0) {
+                return;
+            }
+            observe(pagedList);
+
+            // resume append cancelled when user scrolled away, once scrolling toward the end
+            int loadedEnd = pagedList.size() - pagedList.getConfig().prefetchDistance;
+            boolean towardEnd = position > prefetchedPosition;
+            prefetchedPosition = position;
+            TaskPageKeyedDataSource<?> dataSource = dataSourceOf(pagedList);
+            if (dataSource != null && (towardEnd || position >= loadedEnd)) {
+                dataSource.resumeAppend();
+            }
+
+            targetPosition = position;
+            loadTowardTarget();
+        }
+
+        @Override
+        public void cancel() {
+            targetPosition = RecyclerView.NO_POSITION;
+            TaskPageKeyedDataSource<?> dataSource = dataSourceOf(pagedList);
+            if (dataSource != null) {
+                dataSource.cancelAppend();
+            }
+        }
+
+        private void observe(PagedList<T> pagedList) {
+            if (this.pagedList != pagedList) {
+                if (this.pagedList != null) {
+                    this.pagedList.removeWeakCallback(callback);
+                }
+                pagedList.addWeakCallback(null, callback);
+                this.pagedList = pagedList;
+            }
+        }
+
+        private void loadTowardTarget() {
+            PagedList<T> pagedList = this.pagedList;
+            if (pagedList == null || pagedList.size() == 0
+                    || targetPosition == RecyclerView.NO_POSITION) {
+                return;
+            }
+
+            // load around last loaded item until target is loaded
+            int last = pagedList.size() - 1;
+            int position = targetPosition;
+            if (position <= last) {
+                targetPosition = RecyclerView.NO_POSITION;
+            }
+            pagedList.loadAround(Math.max(0, Math.min(position, last)));
+        }
+
+        @Nullable
+        private static TaskPageKeyedDataSource<?> dataSourceOf(@Nullable PagedList<?> pagedList) {
+            DataSource<?, ?> dataSource = pagedList != null ? pagedList.getDataSource() : null;
+            return dataSource instanceof TaskPageKeyedDataSource
+                    ? (TaskPageKeyedDataSource<?>) dataSource : null;
+        }
+    }
+}
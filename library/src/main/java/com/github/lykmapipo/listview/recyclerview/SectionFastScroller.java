@@ -0,0 +1,220 @@
+package com.github.lykmapipo.listview.recyclerview;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.view.MotionEvent;
+import android.view.View;
+
+import androidx.annotation.AttrRes;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.github.lykmapipo.listview.R;
+import com.github.lykmapipo.listview.data.SectionIndex;
+
+/**
+ * A {@link RecyclerView.ItemDecoration} that pin current section header on top of a list
+ * and draw a section rail along its end edge, touching the rail jump to a section.
+ * <p>
+ * Sections come from a {@link SectionIndex}, so finding current section and jumping to
+ * a section are binary search and array read, adapter is never walked.
+ *
+ * <pre>
+ * SectionFastScroller scroller = new SectionFastScroller(context);
+ * scroller.attachTo(recyclerView);
+ * adapter.setOnSectionIndexChangedListener(scroller::setSectionIndex);
+ * adapter.setSectionKeyProvider(new SectionIndex.FirstLetterKeyProvider&lt;&gt;());
+ * </pre>
+ *
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+public class SectionFastScroller extends RecyclerView.ItemDecoration
+        implements RecyclerView.OnItemTouchListener {
+
+    private final Paint headerPaint = new Paint();
+    private final Paint headerTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint railTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final int headerHeight;
+    private final int railWidth;
+    private final int padding;
+
+    private RecyclerView recyclerView;
+    private SectionIndex sectionIndex = SectionIndex.empty();
+    private boolean dragging = false;
+    private int currentSection = -1;
+
+    public SectionFastScroller(@NonNull Context context) {
+        Resources resources = context.getResources();
+        padding = resources.getDimensionPixelSize(R.dimen.material_baseline_grid_2x);
+        headerHeight = resources.getDimensionPixelSize(R.dimen.material_baseline_grid_4x);
+        railWidth = resources.getDimensionPixelSize(R.dimen.material_baseline_grid_4x);
+
+        int textColor = resolveColor(context, android.R.attr.textColorSecondary, Color.GRAY);
+        headerPaint.setColor(resolveColor(context, android.R.attr.colorBackground, Color.WHITE));
+        headerTextPaint.setColor(textColor);
+        headerTextPaint.setTextSize(resources.getDimensionPixelSize(R.dimen.material_baseline_grid_2x));
+        headerTextPaint.setFakeBoldText(true);
+        railTextPaint.setColor(textColor);
+        railTextPaint.setTextAlign(Paint.Align.CENTER);
+        railTextPaint.setTextSize(resources.getDimensionPixelSize(R.dimen.material_baseline_grid_1x) * 3 / 2);
+    }
+
+    /**
+     * Attach fast scroller to a recycler view
+     *
+     * @param recyclerView valid recycler view
+     * @since 0.5.0
+     */
+    public void attachTo(@NonNull RecyclerView recyclerView) {
+        if (this.recyclerView != null) {
+            this.recyclerView.removeItemDecoration(this);
+            this.recyclerView.removeOnItemTouchListener(this);
+        }
+        this.recyclerView = recyclerView;
+        recyclerView.addItemDecoration(this);
+        recyclerView.addOnItemTouchListener(this);
+    }
+
+    /**
+     * Set sections to display
+     *
+     * @param sectionIndex latest section index
+     * @since 0.5.0
+     */
+    public void setSectionIndex(@NonNull SectionIndex sectionIndex) {
+        this.sectionIndex = sectionIndex;
+        if (recyclerView != null) {
+            recyclerView.invalidateItemDecorations();
+        }
+    }
+
+    /**
+     * Obtain section of first visible item
+     *
+     * @return section index or -1
+     * @since 0.5.0
+     */
+    public int getCurrentSection() {
+        return currentSection;
+    }
+
+    /**
+     * Scroll list to first item of a section
+     *
+     * @param section section index
+     * @since 0.5.0
+     */
+    public void scrollToSection(int section) {
+        if (recyclerView == null || sectionIndex.getSectionCount() == 0) {
+            return;
+        }
+        int position = sectionIndex.getPositionForSection(section);
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        if (layoutManager instanceof LinearLayoutManager) {
+            ((LinearLayoutManager) layoutManager).scrollToPositionWithOffset(position, 0);
+        } else if (layoutManager != null) {
+            layoutManager.scrollToPosition(position);
+        }
+    }
+
+    @Override
+    public void onDrawOver(
+            @NonNull Canvas canvas, @NonNull RecyclerView parent, @NonNull RecyclerView.State state
+    ) {
+        SectionIndex index = sectionIndex;
+        if (index.getSectionCount() == 0 || parent.getChildCount() == 0) {
+            currentSection = -1;
+            return;
+        }
+
+        // find section of first visible item
+        View first = parent.getChildAt(0);
+        int position = parent.getChildAdapterPosition(first);
+        if (position == RecyclerView.NO_POSITION || position >= index.getItemCount()) {
+            return;
+        }
+        currentSection = index.getSectionForPosition(position);
+
+        // push pinned header up when next section reach it
+        int top = 0;
+        for (int i = 1; i < parent.getChildCount(); i++) {
+            View child = parent.getChildAt(i);
+            if (child.getTop() >= headerHeight) {
+                break;
+            }
+            int childPosition = parent.getChildAdapterPosition(child);
+            if (childPosition != RecyclerView.NO_POSITION && index.isSectionStart(childPosition)) {
+                top = Math.min(0, child.getTop() - headerHeight);
+                break;
+            }
+        }
+
+        // draw pinned header
+        int width = parent.getWidth() - railWidth;
+        canvas.drawRect(0, top, width, top + headerHeight, headerPaint);
+        float baseline = top + (headerHeight - headerTextPaint.descent() - headerTextPaint.ascent()) / 2;
+        canvas.drawText(index.getSection(currentSection), padding, baseline, headerTextPaint);
+
+        // draw section rail
+        int count = index.getSectionCount();
+        float slot = (float) parent.getHeight() / count;
+        float x = parent.getWidth() - railWidth / 2f;
+        for (int i = 0; i < count; i++) {
+            railTextPaint.setFakeBoldText(i == currentSection);
+            float y = slot * i + (slot - railTextPaint.descent() - railTextPaint.ascent()) / 2;
+            canvas.drawText(index.getSection(i), x, y, railTextPaint);
+        }
+    }
+
+    @Override
+    public boolean onInterceptTouchEvent(@NonNull RecyclerView rv, @NonNull MotionEvent e) {
+        if (e.getActionMasked() == MotionEvent.ACTION_DOWN
+                && sectionIndex.getSectionCount() > 0
+                && e.getX() >= rv.getWidth() - railWidth) {
+            dragging = true;
+            jumpTo(rv, e.getY());
+            return true;
+        }
+        return dragging;
+    }
+
+    @Override
+    public void onTouchEvent(@NonNull RecyclerView rv, @NonNull MotionEvent e) {
+        switch (e.getActionMasked()) {
+            case MotionEvent.ACTION_MOVE:
+                jumpTo(rv, e.getY());
+                break;
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_CANCEL:
+                dragging = false;
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void onRequestDisallowInterceptTouchEvent(boolean disallowIntercept) {
+    }
+
+    private void jumpTo(RecyclerView rv, float y) {
+        int count = sectionIndex.getSectionCount();
+        int section = (int) (y / rv.getHeight() * count);
+        scrollToSection(Math.max(0, Math.min(section, count - 1)));
+    }
+
+    private static int resolveColor(Context context, @AttrRes int attr, int defaultColor) {
+        TypedArray ta = context.obtainStyledAttributes(new int[]{attr});
+        try {
+            return ta.getColor(0, defaultColor);
+        } finally {
+            ta.recycle();
+        }
+    }
+}
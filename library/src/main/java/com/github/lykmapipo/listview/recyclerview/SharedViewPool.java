@@ -0,0 +1,282 @@
+package com.github.lykmapipo.listview.recyclerview;
+
+import android.app.Activity;
+import android.content.Context;
+import android.util.SparseIntArray;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.github.lykmapipo.listview.internal.ActivityRegistry;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A {@link RecyclerView.RecycledViewPool} shared by all lists hosted by the same
+ * {@link Activity} i.e tabs or vertical list of horizontal carousels, so view holders
+ * recycled by one list are reused by others instead of being created from scratch.
+ * <p>
+ * Nested lists attached with {@link #attachNested(RecyclerView)} observe how many of their
+ * items are visible and use it as {@link LinearLayoutManager#setInitialPrefetchItemCount(int)}
+ * so a carousel entering the viewport is prefetched in full. Newly attached nested lists
+ * start with the largest count observed so far. Per view type hit and miss
+ * counts report the savings, each miss is a view holder the list had to create.
+ * Pools are cleared when their activity is destroyed. Pools of other contexts are held
+ * weakly, they live as long as a list uses them so recycled view holders never keep
+ * the context alive.
+ *
+ * <pre>
+ * SharedViewPool pool = SharedViewPool.of(context);
+ * pool.setCapacity(VIEW_TYPE_CAROUSEL_ITEM, 20);
+ * pool.attach(recyclerView);
+ *
+ * // in a carousel view holder
+ * pool.attachNested(carouselRecyclerView);
+ * </pre>
+ *
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+public final class SharedViewPool extends RecyclerView.RecycledViewPool {
+
+    private static final int DEFAULT_INITIAL_PREFETCH_ITEM_COUNT = 2;
+    private static final ActivityRegistry<SharedViewPool> ACTIVITY_POOLS =
+            new ActivityRegistry<>(SharedViewPool::clear);
+    private static final Map<Context, WeakReference<SharedViewPool>> POOLS = new WeakHashMap<>();
+
+    private final SparseIntArray hitCounts = new SparseIntArray();
+    private final SparseIntArray missCounts = new SparseIntArray();
+    private final RecyclerView.OnScrollListener visibleItemObserver = new VisibleItemObserver();
+
+    private int visibleItemCount = 0;
+
+    private SharedViewPool() {
+    }
+
+    /**
+     * Obtain pool shared by all lists of the activity hosting a given context
+     *
+     * @param context valid context
+     * @return {@link SharedViewPool}
+     * @since 0.5.0
+     */
+    @NonNull
+    public static synchronized SharedViewPool of(@NonNull Context context) {
+        // activity pools, cleared once activity is destroyed
+        Activity activity = ActivityRegistry.findActivity(context);
+        if (activity != null) {
+            SharedViewPool pool = ACTIVITY_POOLS.get(activity);
+            if (pool == null) {
+                pool = new SharedViewPool();
+                ACTIVITY_POOLS.put(activity, pool);
+            }
+            return pool;
+        }
+
+        // other pools, kept alive by lists using them
+        WeakReference<SharedViewPool> reference = POOLS.get(context);
+        SharedViewPool pool = reference != null ? reference.get() : null;
+        if (pool == null) {
+            pool = new SharedViewPool();
+            POOLS.put(context, new WeakReference<>(pool));
+        }
+        return pool;
+    }
+
+    /**
+     * Share this pool with a given list
+     *
+     * @param recyclerView valid recycler view
+     * @since 0.5.0
+     */
+    public void attach(@NonNull RecyclerView recyclerView) {
+        recyclerView.setRecycledViewPool(this);
+
+        // give back children when list is detached i.e nested list is recycled
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        if (layoutManager instanceof LinearLayoutManager) {
+            ((LinearLayoutManager) layoutManager).setRecycleChildrenOnDetach(true);
+        }
+    }
+
+    /**
+     * Share this pool with a nested list and prefetch as many items as
+     * observed visible in it, or in other nested lists until it is laid out
+     *
+     * @param recyclerView valid nested recycler view
+     * @since 0.5.0
+     */
+    public void attachNested(@NonNull RecyclerView recyclerView) {
+        attach(recyclerView);
+
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        if (layoutManager instanceof LinearLayoutManager) {
+            setInitialPrefetchItemCount(
+                    (LinearLayoutManager) layoutManager, getInitialPrefetchItemCount()
+            );
+        }
+
+        // ensure observed once
+        recyclerView.removeOnScrollListener(visibleItemObserver);
+        recyclerView.addOnScrollListener(visibleItemObserver);
+    }
+
+    /**
+     * Set maximum number of recycled view holders kept for a given view type
+     *
+     * @param viewType view type
+     * @param capacity maximum number of view holders
+     * @since 0.5.0
+     */
+    public void setCapacity(int viewType, int capacity) {
+        setMaxRecycledViews(viewType, Math.max(0, capacity));
+    }
+
+    /**
+     * Obtain number of items prefetched when a newly attached nested list
+     * enter the viewport
+     *
+     * @return initial prefetch item count
+     * @since 0.5.0
+     */
+    public int getInitialPrefetchItemCount() {
+        return visibleItemCount > 0 ? visibleItemCount : DEFAULT_INITIAL_PREFETCH_ITEM_COUNT;
+    }
+
+    /**
+     * Obtain view types requested from the pool
+     *
+     * @return view types
+     * @since 0.5.0
+     */
+    @NonNull
+    public int[] getViewTypes() {
+        int[] viewTypes = new int[missCounts.size() + hitCounts.size()];
+        int count = 0;
+        for (int i = 0; i < missCounts.size(); i++) {
+            viewTypes[count++] = missCounts.keyAt(i);
+        }
+        for (int i = 0; i < hitCounts.size(); i++) {
+            if (missCounts.indexOfKey(hitCounts.keyAt(i)) < 0) {
+                viewTypes[count++] = hitCounts.keyAt(i);
+            }
+        }
+        int[] result = new int[count];
+        System.arraycopy(viewTypes, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * Obtain number of view holders of a given type reused from the pool
+     *
+     * @param viewType view type
+     * @return hit count
+     * @since 0.5.0
+     */
+    public int hitCount(int viewType) {
+        return hitCounts.get(viewType);
+    }
+
+    /**
+     * Obtain number of times the pool had no view holder of a given type
+     * and the list had to create one
+     *
+     * @param viewType view type
+     * @return miss count
+     * @since 0.5.0
+     */
+    public int missCount(int viewType) {
+        return missCounts.get(viewType);
+    }
+
+    /**
+     * Obtain number of view holders reused from the pool
+     *
+     * @return hit count
+     * @since 0.5.0
+     */
+    public int hitCount() {
+        return sum(hitCounts);
+    }
+
+    /**
+     * Obtain number of times the pool had no view holder
+     *
+     * @return miss count
+     * @since 0.5.0
+     */
+    public int missCount() {
+        return sum(missCounts);
+    }
+
+    /**
+     * Reset hit and miss counts
+     *
+     * @since 0.5.0
+     */
+    public void resetCounts() {
+        hitCounts.clear();
+        missCounts.clear();
+    }
+
+    @Nullable
+    @Override
+    public RecyclerView.ViewHolder getRecycledView(int viewType) {
+        RecyclerView.ViewHolder holder = super.getRecycledView(viewType);
+        SparseIntArray counts = holder != null ? hitCounts : missCounts;
+        counts.put(viewType, counts.get(viewType) + 1);
+        return holder;
+    }
+
+    /**
+     * Record number of items visible in a nested list
+     *
+     * @param count visible item count
+     * @since 0.5.0
+     */
+    void onVisibleItemCount(int count) {
+        visibleItemCount = Math.max(visibleItemCount, count);
+    }
+
+    private static int sum(SparseIntArray counts) {
+        int sum = 0;
+        for (int i = 0; i < counts.size(); i++) {
+            sum += counts.valueAt(i);
+        }
+        return sum;
+    }
+
+    private static void setInitialPrefetchItemCount(
+            @NonNull LinearLayoutManager layoutManager, int count
+    ) {
+        // avoid touching layout manager on every scroll
+        if (layoutManager.getInitialPrefetchItemCount() != count) {
+            layoutManager.setInitialPrefetchItemCount(count);
+        }
+    }
+
+    private class VisibleItemObserver extends RecyclerView.OnScrollListener {
+
+        @Override
+        public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+            // also called with zero deltas once layout change visible range
+            RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+            if (!(layoutManager instanceof LinearLayoutManager)) {
+                return;
+            }
+            LinearLayoutManager linearLayoutManager = (LinearLayoutManager) layoutManager;
+            int first = linearLayoutManager.findFirstVisibleItemPosition();
+            int last = linearLayoutManager.findLastVisibleItemPosition();
+            if (first == RecyclerView.NO_POSITION) {
+                return;
+            }
+            int count = last - first + 1;
+            onVisibleItemCount(count);
+            setInitialPrefetchItemCount(linearLayoutManager, count);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.github.lykmapipo.listview.view;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.util.LruCache;
+import android.util.TypedValue;
+
+import androidx.annotation.DrawableRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.appcompat.content.res.AppCompatResources;
+
+import com.github.lykmapipo.listview.R;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A byte bounded LRU cache of rasterized state images i.e {@code ic_empty}, {@code ic_error}
+ * and {@code ic_offline}, keyed by resource id, theme, configuration and size.
+ * <p>
+ * Themes are keyed by the values of the colors a drawable can reference, resolved once
+ * per theme, so equal themes i.e of a recreated activity share cached images. Night mode
+ * and density are keyed from the {@link Configuration}.
+ * <p>
+ * Vector drawables are parsed and drawn once, subsequent requests only wrap
+ * the cached bitmap. Cache is trimmed on {@link ComponentCallbacks2#onTrimMemory(int)}.
+ * <p>
+ * Note: images are rasterized, so animated drawables will not animate
+ *
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+public final class DrawableCache implements ComponentCallbacks2 {
+
+    private static final int DEFAULT_MAX_SIZE = 1024 * 1024; // 1MB
+    private static final int[] THEME_ATTRS = {
+            android.R.attr.colorForeground,
+            android.R.attr.colorBackground,
+            android.R.attr.textColorPrimary,
+            android.R.attr.colorPrimary,
+            android.R.attr.colorAccent,
+            android.R.attr.colorControlNormal,
+            R.attr.colorPrimary,
+            R.attr.colorAccent,
+            R.attr.colorControlNormal
+    };
+    private static DrawableCache instance;
+
+    private final LruCache<Key, Bitmap> bitmaps;
+    private final Map<Resources.Theme, Long> themeKeys = new WeakHashMap<>();
+
+    private DrawableCache(int maxSize) {
+        bitmaps = new LruCache<Key, Bitmap>(maxSize) {
+            @Override
+            protected int sizeOf(Key key, Bitmap value) {
+                return value.getByteCount();
+            }
+        };
+    }
+
+    /**
+     * Obtain application wide drawable cache
+     *
+     * @param context valid context
+     * @return {@link DrawableCache}
+     * @since 0.5.0
+     */
+    @NonNull
+    public static synchronized DrawableCache getInstance(@NonNull Context context) {
+        if (instance == null) {
+            instance = new DrawableCache(DEFAULT_MAX_SIZE);
+            context.getApplicationContext().registerComponentCallbacks(instance);
+        }
+        return instance;
+    }
+
+    /**
+     * Obtain drawable for a given resource and size
+     *
+     * @param context valid context
+     * @param resId   drawable resource id
+     * @param width   width in pixels
+     * @param height  height in pixels
+     * @return {@link Drawable} or null if resource has no drawable
+     * @since 0.5.0
+     */
+    @Nullable
+    public Drawable get(
+            @NonNull Context context, @DrawableRes int resId, int width, int height
+    ) {
+        Configuration configuration = context.getResources().getConfiguration();
+        Key key = new Key(
+                resId, themeKeyOf(context.getTheme()),
+                configuration.uiMode & Configuration.UI_MODE_NIGHT_MASK,
+                configuration.densityDpi, width, height
+        );
+        Bitmap bitmap = bitmaps.get(key);
+
+        // rasterize on miss
+        if (bitmap == null) {
+            Drawable drawable = AppCompatResources.getDrawable(context, resId);
+            if (drawable == null || width <= 0 || height <= 0) {
+                return drawable;
+            }
+            bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            drawable.setBounds(0, 0, width, height);
+            drawable.draw(new Canvas(bitmap));
+            bitmaps.put(key, bitmap);
+        }
+
+        return new BitmapDrawable(context.getResources(), bitmap);
+    }
+
+    /**
+     * Set cache budget in bytes
+     *
+     * @param maxSize maximum size in bytes
+     * @since 0.5.0
+     */
+    public void setMaxSize(int maxSize) {
+        bitmaps.resize(maxSize);
+    }
+
+    /**
+     * Obtain cache budget in bytes
+     *
+     * @return maximum size in bytes
+     * @since 0.5.0
+     */
+    public int maxSize() {
+        return bitmaps.maxSize();
+    }
+
+    /**
+     * Obtain bytes used by cached images
+     *
+     * @return size in bytes
+     * @since 0.5.0
+     */
+    public int size() {
+        return bitmaps.size();
+    }
+
+    /**
+     * Obtain number of cache hits
+     *
+     * @return hit count
+     * @since 0.5.0
+     */
+    public int hitCount() {
+        return bitmaps.hitCount();
+    }
+
+    /**
+     * Obtain number of cache misses
+     *
+     * @return miss count
+     * @since 0.5.0
+     */
+    public int missCount() {
+        return bitmaps.missCount();
+    }
+
+    /**
+     * Drop all cached images
+     *
+     * @since 0.5.0
+     */
+    public void clear() {
+        bitmaps.evictAll();
+    }
+
+    private synchronized long themeKeyOf(@NonNull Resources.Theme theme) {
+        Long themeKey = themeKeys.get(theme);
+
+        // resolve theme colors on first use
+        if (themeKey == null) {
+            TypedValue value = new TypedValue();
+            long key = 17;
+            for (int attr : THEME_ATTRS) {
+                if (theme.resolveAttribute(attr, value, true)) {
+                    key = 31 * key + value.type;
+                    key = 31 * key + value.data;
+                    key = 31 * key + value.resourceId;
+                } else {
+                    key = 31 * key;
+                }
+            }
+            themeKey = key;
+            themeKeys.put(theme, themeKey);
+        }
+
+        return themeKey;
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_MODERATE) {
+            bitmaps.evictAll();
+        } else if (level >= TRIM_MEMORY_BACKGROUND) {
+            bitmaps.trimToSize(bitmaps.maxSize() / 2);
+        }
+    }
+
+    @Override
+    public void onConfigurationChanged(@NonNull Configuration newConfig) {
+        // theme and configuration are part of cache key
+    }
+
+    @Override
+    public void onLowMemory() {
+        bitmaps.evictAll();
+    }
+
+    private static final class Key {
+        final int resId;
+        final long theme;
+        final int nightMode;
+        final int density;
+        final int width;
+        final int height;
+
+        Key(int resId, long theme, int nightMode, int density, int width, int height) {
+            this.resId = resId;
+            this.theme = theme;
+            this.nightMode = nightMode;
+            this.density = density;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return resId == key.resId && theme == key.theme
+                    && nightMode == key.nightMode && density == key.density
+                    && width == key.width && height == key.height;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = resId;
+            result = 31 * result + (int) (theme ^ (theme >>> 32));
+            result = 31 * result + nightMode;
+            result = 31 * result + density;
+            result = 31 * result + width;
+            result = 31 * result + height;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.github.lykmapipo.listview.view;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.util.LruCache;
+import android.widget.ImageView;
+
+import androidx.annotation.NonNull;
+
+import com.amulyakhare.textdrawable.TextDrawable;
+import com.amulyakhare.textdrawable.util.ColorGenerator;
+import com.github.lykmapipo.listview.data.Item;
+
+/**
+ * Provide round letter avatars for list rows using {@link TextDrawable}.
+ * <p>
+ * Avatars are rendered once per initials and color into a byte bounded LRU of bitmaps.
+ * Binding reuse the {@link ImageView} internal drawable, so fast flings allocate
+ * no new drawables per bind. When {@link Item#getColor()} is not set, a stable
+ * color is derived from {@link Item#getId()}.
+ *
+ * <pre>
+ * LetterAvatarProvider avatars = new LetterAvatarProvider(sizeInPixels);
+ *
+ * public void onBindViewHolder(ContactViewHolder holder, int position) {
+ *     avatars.bind(holder.ivAvatar, getItem(position));
+ * }
+ * </pre>
+ *
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+public class LetterAvatarProvider {
+
+    private static final int DEFAULT_MAX_SIZE = 2 * 1024 * 1024; // 2MB
+
+    private final int size;
+    private final LruCache<AvatarKey, Bitmap> avatars;
+    private final AvatarKey lookupKey = new AvatarKey();
+
+    public LetterAvatarProvider(int size) {
+        this(size, DEFAULT_MAX_SIZE);
+    }
+
+    public LetterAvatarProvider(int size, int maxSize) {
+        this.size = size;
+        this.avatars = new LruCache<AvatarKey, Bitmap>(maxSize) {
+            @Override
+            protected int sizeOf(AvatarKey key, Bitmap value) {
+                return value.getByteCount();
+            }
+        };
+    }
+
+    /**
+     * Bind item avatar into a given image view
+     *
+     * @param imageView valid image view
+     * @param item      valid item
+     * @since 0.5.0
+     */
+    public void bind(@NonNull ImageView imageView, @NonNull Item item) {
+        imageView.setImageBitmap(get(item));
+    }
+
+    /**
+     * Obtain avatar for a given item
+     *
+     * @param item valid item
+     * @return avatar bitmap
+     * @since 0.5.0
+     */
+    @NonNull
+    public Bitmap get(@NonNull Item item) {
+        // compute initials as code points, surrogate pairs are kept whole
+        String name = item.getName();
+        int first = initialAt(name, 0);
+        int second = initialAt(name, nextWordAt(name));
+        int color = colorOf(item);
+
+        // look up with a reused key, no key is allocated on hit
+        Bitmap avatar;
+        synchronized (lookupKey) {
+            avatar = avatars.get(lookupKey.set(first, second, color));
+        }
+
+        // render on miss
+        if (avatar == null) {
+            StringBuilder initials = new StringBuilder(4);
+            if (first != 0) {
+                initials.appendCodePoint(first);
+            }
+            if (second != 0) {
+                initials.appendCodePoint(second);
+            }
+            TextDrawable drawable = TextDrawable.builder()
+                    .beginConfig()
+                    .width(size)
+                    .height(size)
+                    .endConfig()
+                    .buildRound(initials.toString(), color);
+
+            avatar = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+            drawable.setBounds(0, 0, size, size);
+            drawable.draw(new Canvas(avatar));
+            avatars.put(new AvatarKey().set(first, second, color), avatar);
+        }
+
+        return avatar;
+    }
+
+    /**
+     * Obtain ratio of avatar requests served from cache
+     *
+     * @return hit rate between 0 and 1
+     * @since 0.5.0
+     */
+    public float hitRate() {
+        int hits = avatars.hitCount();
+        int total = hits + avatars.missCount();
+        return total == 0 ? 0 : (float) hits / total;
+    }
+
+    /**
+     * Obtain number of avatar cache hits
+     *
+     * @return hit count
+     * @since 0.5.0
+     */
+    public int hitCount() {
+        return avatars.hitCount();
+    }
+
+    /**
+     * Obtain number of avatar cache misses
+     *
+     * @return miss count
+     * @since 0.5.0
+     */
+    public int missCount() {
+        return avatars.missCount();
+    }
+
+    /**
+     * Obtain bytes used by cached avatars
+     *
+     * @return size in bytes
+     * @since 0.5.0
+     */
+    public int size() {
+        return avatars.size();
+    }
+
+    /**
+     * Obtain cache budget in bytes
+     *
+     * @return maximum size in bytes
+     * @since 0.5.0
+     */
+    public int maxSize() {
+        return avatars.maxSize();
+    }
+
+    /**
+     * Drop all cached avatars
+     *
+     * @since 0.5.0
+     */
+    public void clear() {
+        avatars.evictAll();
+    }
+
+    private static int colorOf(Item item) {
+        String color = item.getColor();
+        if (color != null) {
+            try {
+                return Color.parseColor(color);
+            } catch (IllegalArgumentException e) {
+                // fallback to derived color
+            }
+        }
+        return ColorGenerator.MATERIAL.getColor(item.getId());
+    }
+
+    private static int initialAt(String name, int index) {
+        if (index < 0 || index >= name.length()) {
+            return 0;
+        }
+        return Character.toUpperCase(name.codePointAt(index));
+    }
+
+    private static int nextWordAt(String name) {
+        int space = name.indexOf(' ');
+        while (space >= 0 && space + 1 < name.length() && name.charAt(space + 1) == ' ') {
+            space++;
+        }
+        return space < 0 ? -1 : space + 1;
+    }
+
+    /**
+     * Avatar cache key, initials code points and color
+     */
+    private static final class AvatarKey {
+        int first;
+        int second;
+        int color;
+
+        AvatarKey set(int first, int second, int color) {
+            this.first = first;
+            this.second = second;
+            this.color = color;
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof AvatarKey)) {
+                return false;
+            }
+            AvatarKey key = (AvatarKey) o;
+            return first == key.first && second == key.second && color == key.color;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * first + second) + color;
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package com.github.lykmapipo.listview.view;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import android.util.AttributeSet;
+import android.view.View;
 import android.widget.LinearLayout;
 
+import androidx.annotation.NonNull;
+
 import androidx.core.widget.ContentLoadingProgressBar;
 
 import com.github.lykmapipo.listview.R;
@@ -12,6 +18,11 @@ import com.github.lykmapipo.listview.R;
  * A LoadingView is a derivative of {@link LinearLayout} used to displays
  * loading progress bar to user.
  * <p>
+ * Progress bar is shown only after a show delay and, once shown, kept for a minimum
+ * time, so loads that finish under the delay never render it. Progress bar is hidden,
+ * stopping its animation, whenever loading view is hidden or detached, and shown again
+ * once loading view is visible or re-attached while still loading.
+ * <p>
  * // TODO update usage javadocs
  *
  * @author lally elias <lallyelias87@gmail.com>
@@ -19,8 +30,19 @@ import com.github.lykmapipo.listview.R;
  */
 public class LoadingView extends LinearLayout {
 
+    public static final long DEFAULT_SHOW_DELAY = 500L;
+    public static final long DEFAULT_MIN_SHOW_TIME = 500L;
+
     private ContentLoadingProgressBar pbLoadingViewProgress;
 
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable showProgress = this::showProgress;
+    private long showDelay = DEFAULT_SHOW_DELAY;
+    private long minShowTime = DEFAULT_MIN_SHOW_TIME;
+    private long shownAt = -1;
+    private boolean showPending = false;
+    private boolean wantShown = false;
+
     public LoadingView(Context context) {
         this(context, null);
     }
@@ -40,6 +62,127 @@ public class LoadingView extends LinearLayout {
 
         // reference views
         pbLoadingViewProgress = findViewById(R.id.pbLoadingViewProgress);
+        pbLoadingViewProgress.setVisibility(INVISIBLE);
+    }
+
+    /**
+     * Set progress bar show delay and minimum show time
+     *
+     * @param showDelay   delay in milliseconds before progress bar is shown
+     * @param minShowTime minimum time in milliseconds progress bar stay shown
+     * @since 0.5.0
+     */
+    public void setProgressDelays(long showDelay, long minShowTime) {
+        this.showDelay = Math.max(0, showDelay);
+        this.minShowTime = Math.max(0, minShowTime);
+    }
+
+    /**
+     * Show progress bar once show delay elapsed
+     *
+     * @since 0.5.0
+     */
+    public void show() {
+        wantShown = true;
+        if (shownAt >= 0 || showPending) {
+            return;
+        }
+        if (showDelay == 0) {
+            showProgress();
+            return;
+        }
+        showPending = true;
+        handler.postDelayed(showProgress, showDelay);
+    }
+
+    /**
+     * Hide progress bar if it was shown for its minimum time
+     *
+     * @return remaining time in milliseconds progress bar must stay shown, 0 if hidden
+     * @since 0.5.0
+     */
+    public long hide() {
+        wantShown = false;
+        cancelShow();
+        if (shownAt < 0) {
+            return 0;
+        }
+        long remaining = minShowTime - (SystemClock.uptimeMillis() - shownAt);
+        if (remaining > 0) {
+            return remaining;
+        }
+        hideNow();
+        return 0;
+    }
+
+    /**
+     * Hide progress bar immediately
+     *
+     * @since 0.5.0
+     */
+    public void hideNow() {
+        wantShown = false;
+        stopProgress();
+    }
+
+    /**
+     * Check if progress bar is shown
+     *
+     * @return true if shown
+     * @since 0.5.0
+     */
+    public boolean isProgressShown() {
+        return shownAt >= 0;
+    }
+
+    @Override
+    protected void onVisibilityChanged(@NonNull View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+        if (handler == null) {
+            return;
+        }
+        // stop progress animation while hidden, resume once shown while loading
+        if (visibility != VISIBLE) {
+            stopProgress();
+        } else if (wantShown && isShown()) {
+            show();
+        }
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        // resume progress of a load still pending
+        if (wantShown) {
+            show();
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        stopProgress();
+        super.onDetachedFromWindow();
+    }
+
+    private void stopProgress() {
+        cancelShow();
+        if (pbLoadingViewProgress != null) {
+            pbLoadingViewProgress.setVisibility(INVISIBLE);
+        }
+        shownAt = -1;
+    }
+
+    private void showProgress() {
+        showPending = false;
+        pbLoadingViewProgress.setVisibility(VISIBLE);
+        shownAt = SystemClock.uptimeMillis();
+    }
+
+    private void cancelShow() {
+        if (showPending) {
+            handler.removeCallbacks(showProgress);
+            showPending = false;
+        }
     }
 
     /**
@@ -0,0 +1,163 @@
+package com.github.lykmapipo.listview.view;
+
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.util.ObjectsCompat;
+
+/**
+ * A size bounded LRU cache of {@link PrecomputedTextCompat} keyed by item id, text field
+ * and text params.
+ * <p>
+ * Text is measured and laid out off the main thread by {@link #precompute(String, int, CharSequence, PrecomputedTextCompat.Params)},
+ * bind only attach cached layouts. A cached layout is only returned while its text
+ * equals the text being bound, so updated items are never shown stale.
+ *
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+public final class PrecomputedTextCache {
+
+    private final LruCache<Key, PrecomputedTextCompat> texts;
+    private int hitCount = 0;
+    private int missCount = 0;
+
+    public PrecomputedTextCache(int maxSize) {
+        texts = new LruCache<>(maxSize);
+    }
+
+    /**
+     * Obtain cached precomputed text
+     *
+     * @param id     item id
+     * @param field  text field i.e name or description
+     * @param text   text to be bound
+     * @param params text params of target view
+     * @return {@link PrecomputedTextCompat} or null if not cached
+     * @since 0.5.0
+     */
+    @Nullable
+    public PrecomputedTextCompat get(
+            @NonNull String id, int field, @NonNull CharSequence text,
+            @NonNull PrecomputedTextCompat.Params params
+    ) {
+        PrecomputedTextCompat precomputed = texts.get(new Key(id, field, params));
+        if (precomputed != null && precomputed.toString().contentEquals(text)) {
+            synchronized (this) {
+                hitCount++;
+            }
+            return precomputed;
+        }
+        synchronized (this) {
+            missCount++;
+        }
+        return null;
+    }
+
+    /**
+     * Precompute and cache text if not already cached.
+     * <p>
+     * Note: it measure text, call it off the main thread
+     *
+     * @param id     item id
+     * @param field  text field i.e name or description
+     * @param text   text to precompute
+     * @param params text params of target view
+     * @since 0.5.0
+     */
+    public void precompute(
+            @NonNull String id, int field, @NonNull CharSequence text,
+            @NonNull PrecomputedTextCompat.Params params
+    ) {
+        Key key = new Key(id, field, params);
+        PrecomputedTextCompat cached = texts.get(key);
+        if (cached == null || !cached.toString().contentEquals(text)) {
+            texts.put(key, PrecomputedTextCompat.create(text, params));
+        }
+    }
+
+    /**
+     * Obtain number of cached texts
+     *
+     * @return size
+     * @since 0.5.0
+     */
+    public int size() {
+        return texts.size();
+    }
+
+    /**
+     * Obtain maximum number of cached texts
+     *
+     * @return max size
+     * @since 0.5.0
+     */
+    public int maxSize() {
+        return texts.maxSize();
+    }
+
+    /**
+     * Obtain number of binds served from cache
+     *
+     * @return hit count
+     * @since 0.5.0
+     */
+    public synchronized int hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Obtain number of binds that had to lay out text
+     *
+     * @return miss count
+     * @since 0.5.0
+     */
+    public synchronized int missCount() {
+        return missCount;
+    }
+
+    /**
+     * Drop all cached texts
+     *
+     * @since 0.5.0
+     */
+    public void clear() {
+        texts.evictAll();
+    }
+
+    /**
+     * Cache key of a precomputed text
+     */
+    private static final class Key {
+        final String id;
+        final int field;
+        final PrecomputedTextCompat.Params params;
+
+        Key(String id, int field, PrecomputedTextCompat.Params params) {
+            this.id = id;
+            this.field = field;
+            this.params = params;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return field == key.field
+                    && id.equals(key.id)
+                    && params.equals(key.params);
+        }
+
+        @Override
+        public int hashCode() {
+            return ObjectsCompat.hash(id, field, params);
+        }
+    }
+}
@@ -1,22 +1,44 @@
 package com.github.lykmapipo.listview.view;
 
+import android.annotation.SuppressLint;
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.AttributeSet;
+import android.view.MotionEvent;
 import android.view.View;
 import android.widget.FrameLayout;
 
 import androidx.annotation.DrawableRes;
 import androidx.annotation.StringRes;
-import androidx.appcompat.widget.AppCompatImageView;
 import androidx.appcompat.widget.AppCompatTextView;
 
 import com.github.lykmapipo.listview.R;
+import com.github.lykmapipo.listview.metrics.ListMetrics;
 import com.google.android.material.button.MaterialButton;
 
 /**
  * A subclass of {@link FrameLayout} that can display different state of view i.e contentView, emptyView,
  * errorView and loadingView.
  * <p>
+ * Loading and state views are created lazily, the first time they are shown, so
+ * a layout that goes straight to its content never builds the empty/error/offline tree.
+ * The initial loading view is only created once the layout is attached, a layout shown
+ * with its content before i.e restored from a snapshot never builds the loading view.
+ * With {@link #setPoolingEnabled(boolean)} they are borrowed from a shared
+ * {@link StateViewPool} and given back once content is shown.
+ * <p>
+ * Showing a state only touch state view properties that differ from what is on screen,
+ * so repeated calls with the same state i.e retry loops cost no relayout.
+ * <p>
+ * Only the outgoing and incoming views are touched on a transition. With
+ * {@link #setDrawOnlySwap(boolean)} loading/content flips keep content laid out and only
+ * change what is drawn, so a large content i.e recycler view is not measured again.
+ * <p>
+ * Loading progress bar follow a show delay and minimum show time policy, see
+ * {@link #setProgressDelays(long, long)}. Leaving loading is deferred until a shown
+ * progress bar reached its minimum show time.
+ * <p>
  * // TODO update usage javadocs
  *
  * @author lally elias <lallyelias87@gmail.com>
@@ -27,6 +49,26 @@ public class StateLayout extends FrameLayout {
     private LoadingView loadingView;
     private StateView stateView;
     private View contentView;
+    private View visibleView;
+
+    private boolean drawOnlySwap = false;
+    private boolean poolingEnabled = false;
+    private boolean contentDimmed = false;
+    private boolean startWithLoading = false;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable pendingSwap = this::completePendingSwap;
+    private View pendingView;
+    private long progressShowDelay = LoadingView.DEFAULT_SHOW_DELAY;
+    private long progressMinShowTime = LoadingView.DEFAULT_MIN_SHOW_TIME;
+
+    private int loadingViewInflationCount = 0;
+    private int stateViewInflationCount = 0;
+
+    private StateDescriptor lastState = null;
+    private StateDescriptor appliedState = null;
+    private int appliedUpdateCount = 0;
+    private int skippedUpdateCount = 0;
 
     public StateLayout(Context context) {
         this(context, null);
@@ -38,13 +80,6 @@ public class StateLayout extends FrameLayout {
 
     public StateLayout(Context context, AttributeSet attrs, int defStyleAttr) {
         super(context, attrs, defStyleAttr);
-        init(context, attrs);
-    }
-
-    private void init(Context context, AttributeSet attrs) {
-        // initialize loading & state views
-        loadingView = new LoadingView(context, attrs);
-        stateView = new StateView(context, attrs);
     }
 
     @Override
@@ -56,32 +91,159 @@ public class StateLayout extends FrameLayout {
             contentView = getChildAt(0);
         }
 
-        // add other loading & state views
-        initStateView(stateView);
-        initStateView(loadingView);
+        // start with loading view, created once attached unless
+        // an other view i.e restored content was shown first
+        hideView(contentView);
+        startWithLoading = true;
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        showInitialView();
+    }
 
-        // always start with loading view
-        showLoadingView();
+    @Override
+    protected void onDetachedFromWindow() {
+        // finish deferred transition right away
+        if (pendingView != null) {
+            if (loadingView != null) {
+                loadingView.hideNow();
+            }
+            handler.removeCallbacks(pendingSwap);
+            completePendingSwap();
+        }
+        super.onDetachedFromWindow();
     }
 
     /**
-     * Obtain reference to {@link StateLayout} loading view
+     * Obtain reference to {@link StateLayout} loading view.
+     * <p>
+     * Note: loading view will be created if it was not yet shown
      *
      * @return {@link LoadingView}
      * @since 0.1.0
      */
     public LoadingView getLoadingView() {
-        return loadingView;
+        showInitialView();
+        return obtainLoadingView();
     }
 
     /**
-     * Obtain reference to {@link StateLayout} state view
+     * Obtain reference to {@link StateLayout} state view.
+     * <p>
+     * Note: state view will be created if it was not yet shown
      *
      * @return {@link StateView}
      * @since 0.1.0
      */
     public StateView getStateView() {
-        return stateView;
+        return obtainStateView();
+    }
+
+    /**
+     * Obtain number of times {@link LoadingView} was created by this layout
+     *
+     * @return loading view inflation count
+     * @since 0.5.0
+     */
+    public int getLoadingViewInflationCount() {
+        return loadingViewInflationCount;
+    }
+
+    /**
+     * Obtain number of times {@link StateView} was created by this layout
+     *
+     * @return state view inflation count
+     * @since 0.5.0
+     */
+    public int getStateViewInflationCount() {
+        return stateViewInflationCount;
+    }
+
+    /**
+     * Obtain number of state view property updates applied
+     *
+     * @return applied update count
+     * @since 0.5.0
+     */
+    public int getAppliedUpdateCount() {
+        return appliedUpdateCount;
+    }
+
+    /**
+     * Obtain number of state view property updates skipped because
+     * they were already on screen
+     *
+     * @return skipped update count
+     * @since 0.5.0
+     */
+    public int getSkippedUpdateCount() {
+        return skippedUpdateCount;
+    }
+
+    /**
+     * Swap loading and content views by drawing instead of relayout.
+     * <p>
+     * Content stay laid out behind the loading view, hidden by alpha and shielded
+     * from touches, and loading view is kept attached instead of given back to the pool.
+     *
+     * @param drawOnlySwap true to enable draw only swap
+     * @since 0.5.0
+     */
+    public void setDrawOnlySwap(boolean drawOnlySwap) {
+        this.drawOnlySwap = drawOnlySwap;
+    }
+
+    /**
+     * Set whether loading and state views are borrowed from the {@link StateViewPool} of
+     * this layout context and given back once content is shown.
+     * <p>
+     * Note: pooled views are shared with other layouts of the same context, they must
+     * not be customized through {@link #getStateView()} or {@link #getLoadingView()}.
+     * Layouts not pooling keep their views, and any customization, once created.
+     *
+     * @param poolingEnabled true to pool loading and state views
+     * @since 0.5.0
+     */
+    public void setPoolingEnabled(boolean poolingEnabled) {
+        this.poolingEnabled = poolingEnabled;
+    }
+
+    /**
+     * Set loading progress bar show delay and minimum show time
+     *
+     * @param showDelay   delay in milliseconds before progress bar is shown
+     * @param minShowTime minimum time in milliseconds progress bar stay shown
+     * @since 0.5.0
+     */
+    public void setProgressDelays(long showDelay, long minShowTime) {
+        this.progressShowDelay = Math.max(0, showDelay);
+        this.progressMinShowTime = Math.max(0, minShowTime);
+        if (loadingView != null) {
+            loadingView.setProgressDelays(progressShowDelay, progressMinShowTime);
+        }
+    }
+
+    /**
+     * Obtain view currently shown
+     *
+     * @return visible view or null
+     * @since 0.5.0
+     */
+    public View getVisibleView() {
+        return visibleView;
+    }
+
+    @Override
+    public boolean onInterceptTouchEvent(MotionEvent ev) {
+        return contentDimmed || super.onInterceptTouchEvent(ev);
+    }
+
+    @SuppressLint("ClickableViewAccessibility")
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        return contentDimmed || super.onTouchEvent(event);
     }
 
     /**
@@ -90,7 +252,10 @@ public class StateLayout extends FrameLayout {
      * @since 0.1.0
      */
     public void showLoading() {
+        ListMetrics metrics = ListMetrics.getInstance();
+        long start = metrics.start();
         showLoadingView();
+        metrics.recordTransition(StateRegistry.STATE_LOADING, start);
     }
 
     /**
@@ -99,7 +264,10 @@ public class StateLayout extends FrameLayout {
      * @since 0.1.0
      */
     public void showContent() {
+        ListMetrics metrics = ListMetrics.getInstance();
+        long start = metrics.start();
         showContentView();
+        metrics.recordTransition(StateRegistry.STATE_CONTENT, start);
     }
 
     /**
@@ -108,22 +276,69 @@ public class StateLayout extends FrameLayout {
      * @since 0.1.0
      */
     public void showState() {
+        // re-apply latest state if state view was given back to the pool
+        if (stateView == null && lastState != null) {
+            showState(
+                    lastState.titleResId, lastState.messageResId,
+                    lastState.actionResId, lastState.imageResId,
+                    lastState.actionClickListener
+            );
+            return;
+        }
         showStateView();
     }
 
+    /**
+     * Show registered state
+     *
+     * @param stateId state id registered in {@link StateRegistry}
+     * @since 0.5.0
+     */
+    public void show(int stateId) {
+        show(stateId, null);
+    }
+
+    /**
+     * Show registered state
+     *
+     * @param stateId             state id registered in {@link StateRegistry}
+     * @param actionClickListener callback to invoke when action clicked
+     * @throws IllegalArgumentException if state id is not registered
+     * @since 0.5.0
+     */
+    public void show(int stateId, OnClickListener actionClickListener) {
+        // handle builtin views
+        if (stateId == StateRegistry.STATE_LOADING) {
+            showLoading();
+            return;
+        }
+        if (stateId == StateRegistry.STATE_CONTENT) {
+            showContent();
+            return;
+        }
+
+        // show registered state
+        StateSpec spec = StateRegistry.get(stateId);
+        if (spec == null) {
+            throw new IllegalArgumentException("Unknown state id " + stateId);
+        }
+        ListMetrics metrics = ListMetrics.getInstance();
+        long start = metrics.start();
+        applyState(
+                spec.getTitleResId(), spec.getMessageResId(),
+                spec.getActionResId(), spec.getImageResId(),
+                actionClickListener
+        );
+        metrics.recordTransition(stateId, start);
+    }
+
     /**
      * Show quick empty state
      *
      * @since 0.1.0
      */
     public void showEmpty() {
-        showState(
-                R.string.text_empty_state_title,
-                R.string.text_empty_state_message,
-                R.string.text_empty_state_action_text,
-                R.drawable.ic_empty,
-                null
-        );
+        show(StateRegistry.STATE_EMPTY, null);
     }
 
     /**
@@ -132,13 +347,7 @@ public class StateLayout extends FrameLayout {
      * @since 0.1.0
      */
     public void showEmpty(OnClickListener clickListener) {
-        showState(
-                R.string.text_empty_state_title,
-                R.string.text_empty_state_message,
-                R.string.text_empty_state_action_text,
-                R.drawable.ic_empty,
-                clickListener
-        );
+        show(StateRegistry.STATE_EMPTY, clickListener);
     }
 
     /**
@@ -219,13 +428,7 @@ public class StateLayout extends FrameLayout {
      * @since 0.1.0
      */
     public void showError() {
-        showState(
-                R.string.text_error_state_title,
-                R.string.text_error_state_message,
-                R.string.text_error_state_action_text,
-                R.drawable.ic_error,
-                null
-        );
+        show(StateRegistry.STATE_ERROR, null);
     }
 
     /**
@@ -234,13 +437,7 @@ public class StateLayout extends FrameLayout {
      * @since 0.1.0
      */
     public void showError(OnClickListener clickListener) {
-        showState(
-                R.string.text_error_state_title,
-                R.string.text_error_state_message,
-                R.string.text_error_state_action_text,
-                R.drawable.ic_error,
-                clickListener
-        );
+        show(StateRegistry.STATE_ERROR, clickListener);
     }
 
     /**
@@ -315,20 +512,13 @@ public class StateLayout extends FrameLayout {
         );
     }
 
-
     /**
      * Show quick offline state
      *
      * @since 0.1.0
      */
     public void showOffline() {
-        showState(
-                R.string.text_offline_state_title,
-                R.string.text_offline_state_message,
-                R.string.text_offline_state_action_text,
-                R.drawable.ic_offline,
-                null
-        );
+        show(StateRegistry.STATE_OFFLINE, null);
     }
 
     /**
@@ -337,13 +527,7 @@ public class StateLayout extends FrameLayout {
      * @since 0.1.0
      */
     public void showOffline(OnClickListener clickListener) {
-        showState(
-                R.string.text_offline_state_title,
-                R.string.text_offline_state_message,
-                R.string.text_offline_state_action_text,
-                R.drawable.ic_offline,
-                clickListener
-        );
+        show(StateRegistry.STATE_OFFLINE, clickListener);
     }
 
     /**
@@ -432,29 +616,79 @@ public class StateLayout extends FrameLayout {
             @StringRes int actionResId, @DrawableRes int imageResId,
             OnClickListener actionClickListener
     ) {
+        ListMetrics metrics = ListMetrics.getInstance();
+        long start = metrics.start();
+        applyState(titleResId, messageResId, actionResId, imageResId, actionClickListener);
+        metrics.recordTransition(ListMetrics.STATE_UNKNOWN, start);
+    }
+
+    private void applyState(
+            int titleResId, int messageResId,
+            int actionResId, int imageResId,
+            OnClickListener actionClickListener
+    ) {
+        // keep latest state, reuse it when shown again
+        StateDescriptor state = lastState;
+        if (state == null || !state.matches(
+                titleResId, messageResId, actionResId, imageResId, actionClickListener)) {
+            state = new StateDescriptor(
+                    titleResId, messageResId, actionResId, imageResId, actionClickListener
+            );
+            lastState = state;
+        }
+
         // reference state view
+        StateView stateView = obtainStateView();
+        StateDescriptor applied = appliedState;
+
         AppCompatTextView title = stateView.getTitle();
-        title.setText(titleResId);
+        if (applied == null || applied.titleResId != titleResId) {
+            title.setText(titleResId);
+            appliedUpdateCount++;
+        } else {
+            skippedUpdateCount++;
+        }
 
         AppCompatTextView message = stateView.getMessage();
-        message.setText(messageResId);
+        if (applied == null || applied.messageResId != messageResId) {
+            message.setText(messageResId);
+            appliedUpdateCount++;
+        } else {
+            skippedUpdateCount++;
+        }
 
-        AppCompatImageView image = stateView.getImage();
-        image.setImageResource(imageResId);
+        if (applied == null || applied.imageResId != imageResId) {
+            stateView.setImage(imageResId);
+            appliedUpdateCount++;
+        } else {
+            skippedUpdateCount++;
+        }
 
         MaterialButton action = stateView.getAction();
-        action.setText(actionResId);
-
-        // show action
-        if (actionClickListener != null) {
-            action.setVisibility(VISIBLE);
-            action.setOnClickListener(actionClickListener);
+        if (applied == null || applied.actionResId != actionResId) {
+            action.setText(actionResId);
+            appliedUpdateCount++;
+        } else {
+            skippedUpdateCount++;
         }
-        // hide action
-        else {
-            action.setVisibility(GONE);
+
+        if (applied == null || applied.actionClickListener != actionClickListener) {
+            // show action
+            if (actionClickListener != null) {
+                action.setVisibility(VISIBLE);
+                action.setOnClickListener(actionClickListener);
+            }
+            // hide action
+            else {
+                action.setVisibility(GONE);
+            }
+            appliedUpdateCount++;
+        } else {
+            skippedUpdateCount++;
         }
 
+        appliedState = state;
+
         // show state view
         showStateView();
     }
@@ -474,26 +708,175 @@ public class StateLayout extends FrameLayout {
         showState(titleResId, messageResId, actionResId, imageResId, null);
     }
 
+    private void showInitialView() {
+        // nothing shown yet, show initial loading view
+        if (startWithLoading && visibleView == null) {
+            showLoadingView();
+        }
+    }
+
     private void showLoadingView() {
-        showView(loadingView);
-        hideView(stateView);
-        hideView(contentView);
+        cancelPendingSwap();
+        swapTo(obtainLoadingView());
+        loadingView.show();
     }
 
     private void showContentView() {
-        showView(contentView);
-        hideView(loadingView);
-        hideView(stateView);
+        if (deferLeavingLoading(contentView)) {
+            return;
+        }
+        swapTo(contentView);
+        if (!drawOnlySwap) {
+            releaseLoadingView();
+        }
+        releaseStateView();
     }
 
     private void showStateView() {
-        showView(stateView);
-        hideView(loadingView);
-        hideView(contentView);
+        StateView stateView = obtainStateView();
+        if (deferLeavingLoading(stateView)) {
+            return;
+        }
+        swapTo(stateView);
+    }
+
+    private boolean deferLeavingLoading(View incoming) {
+        cancelPendingSwap();
+        if (loadingView == null || visibleView != loadingView) {
+            return false;
+        }
+
+        // keep shown progress bar for its minimum show time
+        long remaining = loadingView.hide();
+        if (remaining > 0) {
+            pendingView = incoming;
+            handler.postDelayed(pendingSwap, remaining);
+            return true;
+        }
+        return false;
+    }
+
+    private void completePendingSwap() {
+        View view = pendingView;
+        pendingView = null;
+        if (view != null && view == contentView) {
+            showContentView();
+        } else if (view != null && view == stateView) {
+            showStateView();
+        }
+    }
+
+    private void cancelPendingSwap() {
+        if (pendingView != null) {
+            handler.removeCallbacks(pendingSwap);
+            pendingView = null;
+        }
+    }
+
+    private void swapTo(View incoming) {
+        View outgoing = visibleView;
+        if (incoming == outgoing) {
+            return;
+        }
+        visibleView = incoming;
+
+        // flip loading and content by drawing only
+        boolean loadingFlip = drawOnlySwap && contentView != null
+                && (incoming == contentView || incoming == loadingView)
+                && (outgoing == contentView || outgoing == loadingView);
+        if (loadingFlip) {
+            if (incoming == contentView) {
+                undimContentView();
+                showView(contentView);
+                loadingView.setVisibility(INVISIBLE);
+            } else {
+                loadingView.setVisibility(VISIBLE);
+                dimContentView();
+            }
+            return;
+        }
+
+        // content may be dimmed behind loading view
+        if (contentDimmed) {
+            undimContentView();
+            hideView(contentView);
+        }
+        // nothing shown yet, hide all but incoming
+        if (outgoing == null) {
+            hideView(incoming != contentView ? contentView : null);
+            hideView(incoming != loadingView ? loadingView : null);
+            hideView(incoming != stateView ? stateView : null);
+        }
+        hideView(outgoing);
+        showView(incoming);
+    }
+
+    private void dimContentView() {
+        contentView.setAlpha(0f);
+        contentView.setImportantForAccessibility(IMPORTANT_FOR_ACCESSIBILITY_NO_HIDE_DESCENDANTS);
+        contentDimmed = true;
+    }
+
+    private void undimContentView() {
+        contentView.setAlpha(1f);
+        contentView.setImportantForAccessibility(IMPORTANT_FOR_ACCESSIBILITY_AUTO);
+        contentDimmed = false;
+    }
+
+    private LoadingView obtainLoadingView() {
+        // inflate loading view on first use
+        if (loadingView == null) {
+            loadingView = poolingEnabled
+                    ? StateViewPool.of(getContext()).acquireLoadingView() : null;
+            if (loadingView == null) {
+                loadingView = new LoadingView(getContext());
+                loadingViewInflationCount++;
+                ListMetrics.getInstance().recordLoadingViewInflation();
+            }
+            loadingView.setProgressDelays(progressShowDelay, progressMinShowTime);
+            initStateView(loadingView);
+        }
+        return loadingView;
+    }
+
+    private StateView obtainStateView() {
+        // inflate state view on first use
+        if (stateView == null) {
+            stateView = poolingEnabled
+                    ? StateViewPool.of(getContext()).acquireStateView() : null;
+            if (stateView == null) {
+                stateView = new StateView(getContext());
+                stateViewInflationCount++;
+                ListMetrics.getInstance().recordStateViewInflation();
+            }
+            initStateView(stateView);
+        }
+        return stateView;
+    }
+
+    private void releaseLoadingView() {
+        // give back loading view to the pool
+        if (poolingEnabled && loadingView != null) {
+            removeView(loadingView);
+            StateViewPool.of(getContext()).release(loadingView);
+            loadingView = null;
+        }
+    }
+
+    private void releaseStateView() {
+        // give back state view to the pool
+        if (poolingEnabled && stateView != null) {
+            removeView(stateView);
+            stateView.getAction().setOnClickListener(null);
+            StateViewPool.of(getContext()).release(stateView);
+            stateView = null;
+            appliedState = null;
+        }
     }
 
     private void initStateView(View stateView) {
         if (stateView != null) {
+            stateView.setVisibility(GONE);
             addView(stateView);
         }
     }
@@ -509,4 +892,39 @@ public class StateLayout extends FrameLayout {
             view.setVisibility(GONE);
         }
     }
+
+    /**
+     * Immutable description of a state shown by {@link StateLayout}
+     */
+    private static final class StateDescriptor {
+        final int titleResId;
+        final int messageResId;
+        final int actionResId;
+        final int imageResId;
+        final OnClickListener actionClickListener;
+
+        StateDescriptor(
+                int titleResId, int messageResId,
+                int actionResId, int imageResId,
+                OnClickListener actionClickListener
+        ) {
+            this.titleResId = titleResId;
+            this.messageResId = messageResId;
+            this.actionResId = actionResId;
+            this.imageResId = imageResId;
+            this.actionClickListener = actionClickListener;
+        }
+
+        boolean matches(
+                int titleResId, int messageResId,
+                int actionResId, int imageResId,
+                OnClickListener actionClickListener
+        ) {
+            return this.titleResId == titleResId
+                    && this.messageResId == messageResId
+                    && this.actionResId == actionResId
+                    && this.imageResId == imageResId
+                    && this.actionClickListener == actionClickListener;
+        }
+    }
 }
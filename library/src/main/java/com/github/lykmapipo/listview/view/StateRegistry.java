@@ -0,0 +1,102 @@
+package com.github.lykmapipo.listview.view;
+
+import android.util.SparseArray;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.github.lykmapipo.listview.R;
+
+/**
+ * A registry of {@link StateSpec} keyed by state id, used by {@link StateLayout#show(int)}.
+ * <p>
+ * Empty, error and offline states are registered by default. Apps can register
+ * their own states i.e no permission or maintenance, once at startup:
+ *
+ * <pre>
+ * StateRegistry.register(STATE_NO_PERMISSION, new StateSpec(
+ *         R.string.title_no_permission, R.string.message_no_permission,
+ *         R.string.action_grant, R.drawable.ic_no_permission
+ * ));
+ *
+ * stateLayout.show(STATE_NO_PERMISSION, view -> requestPermission());
+ * </pre>
+ *
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+public final class StateRegistry {
+
+    public static final int STATE_LOADING = 0;
+    public static final int STATE_CONTENT = 1;
+    public static final int STATE_EMPTY = 2;
+    public static final int STATE_ERROR = 3;
+    public static final int STATE_OFFLINE = 4;
+
+    private static final SparseArray<StateSpec> SPECS = new SparseArray<>();
+
+    static {
+        SPECS.put(STATE_EMPTY, new StateSpec(
+                R.string.text_empty_state_title,
+                R.string.text_empty_state_message,
+                R.string.text_empty_state_action_text,
+                R.drawable.ic_empty
+        ));
+        SPECS.put(STATE_ERROR, new StateSpec(
+                R.string.text_error_state_title,
+                R.string.text_error_state_message,
+                R.string.text_error_state_action_text,
+                R.drawable.ic_error
+        ));
+        SPECS.put(STATE_OFFLINE, new StateSpec(
+                R.string.text_offline_state_title,
+                R.string.text_offline_state_message,
+                R.string.text_offline_state_action_text,
+                R.drawable.ic_offline
+        ));
+    }
+
+    private StateRegistry() {
+    }
+
+    /**
+     * Register or replace state spec
+     *
+     * @param stateId valid state id
+     * @param spec    valid state spec
+     * @throws IllegalArgumentException if state id is reserved for loading or content
+     * @since 0.5.0
+     */
+    public static synchronized void register(int stateId, @NonNull StateSpec spec) {
+        if (stateId == STATE_LOADING || stateId == STATE_CONTENT) {
+            throw new IllegalArgumentException("State id " + stateId + " is reserved");
+        }
+        SPECS.put(stateId, spec);
+    }
+
+    /**
+     * Remove registered state spec i.e app state no longer used
+     *
+     * @param stateId valid state id
+     * @throws IllegalArgumentException if state id is reserved for loading or content
+     * @since 0.5.0
+     */
+    public static synchronized void unregister(int stateId) {
+        if (stateId == STATE_LOADING || stateId == STATE_CONTENT) {
+            throw new IllegalArgumentException("State id " + stateId + " is reserved");
+        }
+        SPECS.remove(stateId);
+    }
+
+    /**
+     * Obtain registered state spec
+     *
+     * @param stateId valid state id
+     * @return {@link StateSpec} or null if not registered
+     * @since 0.5.0
+     */
+    @Nullable
+    public static synchronized StateSpec get(int stateId) {
+        return SPECS.get(stateId);
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.lykmapipo.listview.view;
+
+import androidx.annotation.DrawableRes;
+import androidx.annotation.StringRes;
+
+/**
+ * An immutable specification of a state shown by {@link StateLayout} i.e
+ * title, message, action text and image.
+ * <p>
+ * Specs are registered once using {@link StateRegistry#register(int, StateSpec)} and
+ * shown using {@link StateLayout#show(int)}.
+ *
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+public final class StateSpec {
+
+    private final int titleResId;
+    private final int messageResId;
+    private final int actionResId;
+    private final int imageResId;
+
+    public StateSpec(
+            @StringRes int titleResId, @StringRes int messageResId,
+            @StringRes int actionResId, @DrawableRes int imageResId
+    ) {
+        this.titleResId = titleResId;
+        this.messageResId = messageResId;
+        this.actionResId = actionResId;
+        this.imageResId = imageResId;
+    }
+
+    /**
+     * Obtain title resource id
+     *
+     * @return title resource id
+     * @since 0.5.0
+     */
+    @StringRes
+    public int getTitleResId() {
+        return titleResId;
+    }
+
+    /**
+     * Obtain message resource id
+     *
+     * @return message resource id
+     * @since 0.5.0
+     */
+    @StringRes
+    public int getMessageResId() {
+        return messageResId;
+    }
+
+    /**
+     * Obtain action text resource id
+     *
+     * @return action text resource id
+     * @since 0.5.0
+     */
+    @StringRes
+    public int getActionResId() {
+        return actionResId;
+    }
+
+    /**
+     * Obtain image resource id
+     *
+     * @return image resource id
+     * @since 0.5.0
+     */
+    @DrawableRes
+    public int getImageResId() {
+        return imageResId;
+    }
+}
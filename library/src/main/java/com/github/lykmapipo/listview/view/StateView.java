@@ -4,10 +4,17 @@ import android.content.Context;
 import android.content.res.Resources;
 import android.content.res.TypedArray;
 import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.Gravity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
 import android.widget.LinearLayout;
 
+import androidx.annotation.DrawableRes;
 import androidx.appcompat.widget.AppCompatImageView;
 import androidx.appcompat.widget.AppCompatTextView;
+import androidx.core.widget.TextViewCompat;
 
 import com.github.lykmapipo.listview.R;
 import com.google.android.material.button.MaterialButton;
@@ -62,6 +69,11 @@ import com.google.android.material.button.MaterialButton;
  * }
  * </pre>
  *
+ * <p>By default children are inflated from {@code R.layout.state_view} directly into
+ * this view, which allow apps to override the layout. When {@code app:state_inflation_free}
+ * is set or the view is created with {@link #StateView(Context, boolean)}, children are
+ * built in code instead and no XML inflation takes place.
+ *
  * @author lally elias <lallyelias87@gmail.com>
  * @since 0.1.0
  */
@@ -88,38 +100,91 @@ public class StateView extends LinearLayout {
 
     public StateView(Context context, AttributeSet attrs, int defStyleAttr) {
         super(context, attrs, defStyleAttr);
-        init(context, attrs);
+        init(context, attrs, false);
     }
 
-    private void init(Context context, AttributeSet attrs) {
+    /**
+     * Create state view which either build its children in code or inflate them from XML
+     *
+     * @param context       valid context
+     * @param inflationFree true to build children in code
+     * @since 0.5.0
+     */
+    public StateView(Context context, boolean inflationFree) {
+        super(context);
+        init(context, null, inflationFree);
+    }
+
+    private void init(Context context, AttributeSet attrs, boolean defaultInflationFree) {
         TypedArray ta = context.obtainStyledAttributes(attrs, R.styleable.StateView);
         try {
-            // inflate layout
-            inflate(context, R.layout.state_view, this);
+            // act as container, children are added directly into this view
+            setOrientation(VERTICAL);
+            setGravity(Gravity.CENTER);
+            if (getBackground() == null) {
+                TypedValue background = new TypedValue();
+                context.getTheme().resolveAttribute(android.R.attr.colorBackground, background, true);
+                if (background.type >= TypedValue.TYPE_FIRST_COLOR_INT
+                        && background.type <= TypedValue.TYPE_LAST_COLOR_INT) {
+                    setBackgroundColor(background.data);
+                }
+            }
 
             // obtain attributes
+            boolean inflationFree = ta.getBoolean(
+                    R.styleable.StateView_state_inflation_free, defaultInflationFree
+            );
             titleResId = ta.getResourceId(R.styleable.StateView_state_title, titleResId);
             messageResId = ta.getResourceId(R.styleable.StateView_state_message, messageResId);
             imageSrcResId = ta.getResourceId(R.styleable.StateView_state_image_src, imageSrcResId);
             imageDescriptionResId = ta.getResourceId(R.styleable.StateView_state_image_description, imageDescriptionResId);
             actionTextResId = ta.getResourceId(R.styleable.StateView_state_action_text, actionTextResId);
 
-            // reference views
-            tvStateViewTitle = findViewById(R.id.tvStateViewTitle);
-            tvStateViewMessage = findViewById(R.id.tvStateViewMessage);
-            ivStateViewImage = findViewById(R.id.ivStateViewImage);
-            btnStateViewAction = findViewById(R.id.btnStateViewAction);
+            // build views in code
+            if (inflationFree) {
+                buildViews(context);
 
-            // apply values
-            tvStateViewTitle.setText(titleResId);
-            tvStateViewMessage.setText(messageResId);
+                // apply values
+                tvStateViewTitle.setText(titleResId);
+                tvStateViewMessage.setText(messageResId);
 
-            Resources resources = getContext().getResources();
-            String description = resources.getString(imageDescriptionResId);
-            ivStateViewImage.setContentDescription(description);
-            ivStateViewImage.setImageResource(imageSrcResId);
+                Resources resources = getContext().getResources();
+                String description = resources.getString(imageDescriptionResId);
+                ivStateViewImage.setContentDescription(description);
+                setImage(imageSrcResId);
 
-            btnStateViewAction.setText(actionTextResId);
+                btnStateViewAction.setText(actionTextResId);
+            }
+
+            // inflate layout
+            else {
+                inflate(context, R.layout.state_view, this);
+
+                // reference views
+                tvStateViewTitle = findViewById(R.id.tvStateViewTitle);
+                tvStateViewMessage = findViewById(R.id.tvStateViewMessage);
+                ivStateViewImage = findViewById(R.id.ivStateViewImage);
+                btnStateViewAction = findViewById(R.id.btnStateViewAction);
+
+                // apply values, only those overriding layout defaults
+                if (ta.hasValue(R.styleable.StateView_state_title)) {
+                    tvStateViewTitle.setText(titleResId);
+                }
+                if (ta.hasValue(R.styleable.StateView_state_message)) {
+                    tvStateViewMessage.setText(messageResId);
+                }
+                if (ta.hasValue(R.styleable.StateView_state_image_description)) {
+                    Resources resources = getContext().getResources();
+                    String description = resources.getString(imageDescriptionResId);
+                    ivStateViewImage.setContentDescription(description);
+                }
+                if (ta.hasValue(R.styleable.StateView_state_image_src)) {
+                    setImage(imageSrcResId);
+                }
+                if (ta.hasValue(R.styleable.StateView_state_action_text)) {
+                    btnStateViewAction.setText(actionTextResId);
+                }
+            }
         }
         // recycle TypedArray
         finally {
@@ -127,6 +192,67 @@ public class StateView extends LinearLayout {
         }
     }
 
+    private void buildViews(Context context) {
+        Resources resources = context.getResources();
+        int grid1x = resources.getDimensionPixelSize(R.dimen.material_baseline_grid_1x);
+        int grid2x = resources.getDimensionPixelSize(R.dimen.material_baseline_grid_2x);
+        int grid4x = resources.getDimensionPixelSize(R.dimen.material_baseline_grid_4x);
+
+        // image
+        ivStateViewImage = new AppCompatImageView(context);
+        ivStateViewImage.setId(R.id.ivStateViewImage);
+        ivStateViewImage.setScaleType(ImageView.ScaleType.CENTER_CROP);
+        addView(ivStateViewImage, newLayoutParams(
+                resources.getDimensionPixelSize(R.dimen.state_view_image_width),
+                resources.getDimensionPixelSize(R.dimen.state_view_image_height),
+                grid2x
+        ));
+
+        // title
+        tvStateViewTitle = new AppCompatTextView(context);
+        tvStateViewTitle.setId(R.id.tvStateViewTitle);
+        TextViewCompat.setTextAppearance(tvStateViewTitle, R.style.TextAppearance_MaterialComponents_Body1);
+        addView(tvStateViewTitle, newLayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT, grid1x));
+
+        // message
+        tvStateViewMessage = new AppCompatTextView(context);
+        tvStateViewMessage.setId(R.id.tvStateViewMessage);
+        TextViewCompat.setTextAppearance(tvStateViewMessage, R.style.TextAppearance_MaterialComponents_Caption);
+        addView(tvStateViewMessage, newLayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT, grid4x));
+
+        // action
+        btnStateViewAction = new MaterialButton(context);
+        btnStateViewAction.setId(R.id.btnStateViewAction);
+        btnStateViewAction.setVisibility(View.GONE);
+        addView(btnStateViewAction, newLayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT, 0));
+    }
+
+    private LayoutParams newLayoutParams(int width, int height, int bottomMargin) {
+        LayoutParams params = new LayoutParams(width, height);
+        params.gravity = Gravity.CENTER_HORIZONTAL;
+        params.bottomMargin = bottomMargin;
+        return params;
+    }
+
+    /**
+     * Set {@link StateView} image using shared {@link DrawableCache}
+     *
+     * @param imageResId drawable resource id
+     * @since 0.5.0
+     */
+    public void setImage(@DrawableRes int imageResId) {
+        // use laid out size, fallback to default image size
+        ViewGroup.LayoutParams params = ivStateViewImage.getLayoutParams();
+        Resources resources = getContext().getResources();
+        int width = params != null && params.width > 0
+                ? params.width : resources.getDimensionPixelSize(R.dimen.state_view_image_width);
+        int height = params != null && params.height > 0
+                ? params.height : resources.getDimensionPixelSize(R.dimen.state_view_image_height);
+
+        DrawableCache cache = DrawableCache.getInstance(getContext());
+        ivStateViewImage.setImageDrawable(cache.get(getContext(), imageResId, width, height));
+    }
+
     /**
      * Obtain reference to {@link StateView} image
      *
@@ -0,0 +1,375 @@
+package com.github.lykmapipo.listview.view;
+
+import android.app.Activity;
+import android.content.Context;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.github.lykmapipo.listview.internal.ActivityRegistry;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A bounded, per {@link Context} pool of detached {@link StateView} and {@link LoadingView}
+ * instances shared by {@link StateLayout} created with the same context.
+ * <p>
+ * A {@link StateLayout} with {@link StateLayout#setPoolingEnabled(boolean)} borrow a view
+ * when it enter non content state and give it back when content is shown. Pooled views
+ * are not reset, so they must not be customized. When the pool is full the least recently released view is evicted.
+ * Pools created for an {@link Activity} are cleared when the activity is destroyed. Other
+ * contexts have no such signal, their pools hold views weakly so pooled views never keep
+ * the context alive.
+ * <p>
+ * Pools can be warmed up off the main thread i.e during app startup or idle time
+ * using {@link #warmUp(Context, int, int)}.
+ *
+ * @author lally elias <lallyelias87@gmail.com>
+ * @since 0.5.0
+ */
+public final class StateViewPool {
+
+    private static final String TAG = "StateViewPool";
+    private static final int DEFAULT_MAX_POOL_SIZE = 4;
+    private static final ActivityRegistry<StateViewPool> ACTIVITY_POOLS =
+            new ActivityRegistry<>(StateViewPool::clear);
+    private static final Map<Context, StateViewPool> POOLS = new WeakHashMap<>();
+    private static Executor warmUpExecutor;
+
+    private final Views<StateView> stateViews;
+    private final Views<LoadingView> loadingViews;
+
+    private int maxPoolSize = DEFAULT_MAX_POOL_SIZE;
+    private int hitCount = 0;
+    private int missCount = 0;
+    private int evictionCount = 0;
+    private int warmUpCount = 0;
+
+    private StateViewPool(boolean weak) {
+        this.stateViews = new Views<>(weak);
+        this.loadingViews = new Views<>(weak);
+    }
+
+    /**
+     * Obtain pool for a given context
+     *
+     * @param context valid context
+     * @return {@link StateViewPool}
+     * @since 0.5.0
+     */
+    @NonNull
+    public static synchronized StateViewPool of(@NonNull Context context) {
+        // activity pools, cleared once activity is destroyed
+        if (ActivityRegistry.findActivity(context) != null) {
+            StateViewPool pool = ACTIVITY_POOLS.get(context);
+            if (pool == null) {
+                pool = new StateViewPool(false);
+                ACTIVITY_POOLS.put(context, pool);
+            }
+            return pool;
+        }
+
+        // other pools, hold views weakly
+        StateViewPool pool = POOLS.get(context);
+        if (pool == null) {
+            pool = new StateViewPool(true);
+            POOLS.put(context, pool);
+        }
+        return pool;
+    }
+
+    /**
+     * Inflate views for a given context off the main thread into its pool.
+     * <p>
+     * Note: warm up stop when pool is full or when views can not be
+     * created off the main thread, {@link StateLayout} will then inflate synchronously.
+     * Views warmed up for a context other than an activity are held weakly and may be
+     * collected before use
+     *
+     * @param context          valid context
+     * @param stateViewCount   number of state views to inflate
+     * @param loadingViewCount number of loading views to inflate
+     * @since 0.5.0
+     */
+    public static void warmUp(
+            @NonNull Context context, int stateViewCount, int loadingViewCount
+    ) {
+        StateViewPool pool = of(context);
+        try {
+            getWarmUpExecutor().execute(() -> {
+                try {
+                    for (int i = 0; i < stateViewCount && pool.canWarmUp(pool.stateViews); i++) {
+                        pool.warmUp(pool.stateViews, new StateView(context));
+                    }
+                    for (int i = 0; i < loadingViewCount && pool.canWarmUp(pool.loadingViews); i++) {
+                        pool.warmUp(pool.loadingViews, new LoadingView(context));
+                    }
+                }
+                // fallback to synchronous inflation
+                catch (RuntimeException e) {
+                    Log.w(TAG, "Failed to warm up state views", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            Log.w(TAG, "Warm up rejected by executor", e);
+        }
+    }
+
+    /**
+     * Set executor used to warm up pools
+     *
+     * @param executor valid executor or null to use default executor
+     * @since 0.5.0
+     */
+    public static synchronized void setWarmUpExecutor(@Nullable Executor executor) {
+        warmUpExecutor = executor;
+    }
+
+    /**
+     * Borrow a pooled {@link StateView}
+     *
+     * @return {@link StateView} or null if pool is empty
+     * @since 0.5.0
+     */
+    @Nullable
+    public synchronized StateView acquireStateView() {
+        return acquire(stateViews);
+    }
+
+    /**
+     * Borrow a pooled {@link LoadingView}
+     *
+     * @return {@link LoadingView} or null if pool is empty
+     * @since 0.5.0
+     */
+    @Nullable
+    public synchronized LoadingView acquireLoadingView() {
+        return acquire(loadingViews);
+    }
+
+    /**
+     * Give back a detached {@link StateView} to the pool
+     *
+     * @param stateView valid state view
+     * @since 0.5.0
+     */
+    public synchronized void release(@NonNull StateView stateView) {
+        release(stateViews, stateView);
+    }
+
+    /**
+     * Give back a detached {@link LoadingView} to the pool
+     *
+     * @param loadingView valid loading view
+     * @since 0.5.0
+     */
+    public synchronized void release(@NonNull LoadingView loadingView) {
+        release(loadingViews, loadingView);
+    }
+
+    /**
+     * Set maximum number of views kept per view type
+     *
+     * @param maxPoolSize maximum pool size
+     * @since 0.5.0
+     */
+    public synchronized void setMaxPoolSize(int maxPoolSize) {
+        this.maxPoolSize = Math.max(0, maxPoolSize);
+        trim(stateViews);
+        trim(loadingViews);
+    }
+
+    /**
+     * Obtain maximum number of views kept per view type
+     *
+     * @return maximum pool size
+     * @since 0.5.0
+     */
+    public synchronized int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    /**
+     * Obtain number of pooled views
+     *
+     * @return pool size
+     * @since 0.5.0
+     */
+    public synchronized int size() {
+        return stateViews.size() + loadingViews.size();
+    }
+
+    /**
+     * Obtain number of times acquire returned a pooled view
+     *
+     * @return hit count
+     * @since 0.5.0
+     */
+    public synchronized int hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Obtain number of times acquire found the pool empty
+     *
+     * @return miss count
+     * @since 0.5.0
+     */
+    public synchronized int missCount() {
+        return missCount;
+    }
+
+    /**
+     * Obtain number of views dropped because the pool was full
+     *
+     * @return eviction count
+     * @since 0.5.0
+     */
+    public synchronized int evictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Obtain number of views inflated by warm up
+     *
+     * @return warm up count
+     * @since 0.5.0
+     */
+    public synchronized int warmUpCount() {
+        return warmUpCount;
+    }
+
+    /**
+     * Drop all pooled views
+     *
+     * @since 0.5.0
+     */
+    public synchronized void clear() {
+        stateViews.clear();
+        loadingViews.clear();
+    }
+
+    private <T extends View> T acquire(Views<T> views) {
+        T view = views.pollLast();
+        if (view != null) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return view;
+    }
+
+    private <T extends View> void release(Views<T> views, T view) {
+        // ensure detached
+        if (view.getParent() instanceof ViewGroup) {
+            ((ViewGroup) view.getParent()).removeView(view);
+        }
+
+        // ignore double release
+        if (views.contains(view)) {
+            return;
+        }
+
+        views.addLast(view);
+        trim(views);
+    }
+
+    private synchronized <T extends View> boolean canWarmUp(Views<T> views) {
+        return views.size() < maxPoolSize;
+    }
+
+    private synchronized <T extends View> void warmUp(Views<T> views, T view) {
+        if (views.size() < maxPoolSize) {
+            views.addLast(view);
+            warmUpCount++;
+        }
+    }
+
+    private <T extends View> void trim(Views<T> views) {
+        while (views.size() > maxPoolSize) {
+            views.pollFirst();
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Pooled views of one type, held weakly when pool has no lifecycle to be cleared on
+     */
+    private static final class Views<T extends View> {
+        private final ArrayDeque<Object> entries = new ArrayDeque<>();
+        private final boolean weak;
+
+        Views(boolean weak) {
+            this.weak = weak;
+        }
+
+        void addLast(T view) {
+            entries.addLast(weak ? new WeakReference<>(view) : view);
+        }
+
+        T pollLast() {
+            while (!entries.isEmpty()) {
+                T view = unwrap(entries.pollLast());
+                if (view != null) {
+                    return view;
+                }
+            }
+            return null;
+        }
+
+        void pollFirst() {
+            entries.pollFirst();
+        }
+
+        boolean contains(T view) {
+            for (Object entry : entries) {
+                if (unwrap(entry) == view) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int size() {
+            // drop collected views
+            Iterator<Object> iterator = entries.iterator();
+            while (iterator.hasNext()) {
+                if (unwrap(iterator.next()) == null) {
+                    iterator.remove();
+                }
+            }
+            return entries.size();
+        }
+
+        void clear() {
+            entries.clear();
+        }
+
+        @SuppressWarnings("unchecked")
+        private T unwrap(Object entry) {
+            return entry instanceof WeakReference ? ((WeakReference<T>) entry).get() : (T) entry;
+        }
+    }
+
+    private static synchronized Executor getWarmUpExecutor() {
+        if (warmUpExecutor == null) {
+            warmUpExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "StateViewPool-WarmUp");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+        }
+        return warmUpExecutor;
+    }
+}
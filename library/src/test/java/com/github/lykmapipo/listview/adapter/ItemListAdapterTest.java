@@ -0,0 +1,301 @@
+package com.github.lykmapipo.listview.adapter;
+
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.core.widget.TextViewCompat;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.github.lykmapipo.listview.data.ItemSource;
+import com.github.lykmapipo.listview.data.SectionIndex;
+import com.github.lykmapipo.listview.data.TestItem;
+import com.github.lykmapipo.listview.metrics.ListMetrics;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class ItemListAdapterTest {
+    QueueExecutor executor;
+    TestAdapter adapter;
+
+    @Before
+    public void setup() {
+        executor = new QueueExecutor();
+        adapter = new TestAdapter(executor);
+    }
+
+    @Test
+    public void testShouldCoalesceSubmissions() {
+        List<TestItem> first = TestItem.listOf(10);
+        List<TestItem> second = TestItem.listOf(20);
+        List<TestItem> third = TestItem.listOf(30);
+
+        // first list is displayed without diffing
+        adapter.submitList(TestItem.listOf(5));
+        executor.runAll();
+
+        // second is dropped, only latest is diffed next
+        adapter.submitList(first);
+        adapter.submitList(second);
+        adapter.submitList(third);
+        executor.runAll();
+
+        assertSame(third, adapter.getCurrentList());
+        assertEquals(2, executor.executed);
+        assertFalse(adapter.isDiffing());
+    }
+
+    @Test
+    public void testShouldProvideStableIds() {
+        adapter.submitList(TestItem.listOf(2));
+        executor.runAll();
+
+        assertEquals(ItemListAdapter.stableIdOf("0"), adapter.getItemId(0));
+        assertNotEquals(adapter.getItemId(0), adapter.getItemId(1));
+    }
+
+    @Test
+    public void testShouldRecordCreateLatency() {
+        ListMetrics metrics = ListMetrics.getInstance();
+        metrics.setEnabled(true);
+        try {
+            adapter.createViewHolder(new FrameLayout(ApplicationProvider.getApplicationContext()), 0);
+            assertEquals(1, metrics.getCreateLatency(0).getCount());
+        } finally {
+            metrics.setEnabled(false);
+            metrics.reset();
+        }
+    }
+
+    @Test
+    public void testShouldBindPrecomputedText() {
+        TextView textView = new TextView(ApplicationProvider.getApplicationContext());
+        adapter.setTextParams(TextViewCompat.getTextMetricsParams(textView), null);
+
+        List<TestItem> items = TestItem.listOf(3);
+        adapter.submitList(items);
+        executor.runAll();
+        adapter.bindName(textView, items.get(1));
+
+        assertEquals(3, adapter.getTextCache().size());
+        assertEquals(1, adapter.getTextCache().hitCount());
+        assertEquals("Name 1", textView.getText().toString());
+    }
+
+    @Test
+    public void testShouldPrecomputeTextsAroundBoundPosition() {
+        TextView textView = new TextView(ApplicationProvider.getApplicationContext());
+        adapter.setTextParams(TextViewCompat.getTextMetricsParams(textView), null);
+
+        // leading half of the cache is precomputed on submit
+        List<TestItem> items = TestItem.listOf(1000);
+        adapter.submitList(items);
+        executor.runAll();
+        assertEquals(256, adapter.getTextCache().size());
+
+        // window follow bound position
+        RecyclerView.ViewHolder holder =
+                adapter.createViewHolder(new FrameLayout(ApplicationProvider.getApplicationContext()), 0);
+        adapter.bindViewHolder(holder, 600);
+        executor.runAll();
+        adapter.bindName(textView, items.get(700));
+
+        assertEquals(1, adapter.getTextCache().hitCount());
+        assertEquals(512, adapter.getTextCache().size());
+    }
+
+    @Test
+    public void testShouldUpdateSectionIndexAfterDiff() {
+        adapter.setSectionKeyProvider(new SectionIndex.FirstLetterKeyProvider<>());
+        adapter.submitList(TestItem.listOf(10));
+        executor.runAll();
+        ShadowLooper.runUiThreadTasks();
+        assertEquals(1, adapter.getSectionIndex().getSectionCount());
+
+        List<TestItem> changed = TestItem.listOf(10);
+        changed.add(new TestItem("10", "Other", null));
+        adapter.submitList(changed);
+        executor.runAll();
+        ShadowLooper.runUiThreadTasks();
+
+        assertEquals(2, adapter.getSectionIndex().getSectionCount());
+        assertEquals(10, adapter.getSectionIndex().getPositionForSection(1));
+    }
+
+    @Test
+    public void testShouldStreamSourceInChunks() {
+        ShadowLooper.pauseMainLooper();
+        adapter.setStreamChunkSizes(5, 10);
+        CountingSource source = new CountingSource(TestItem.listOf(35).iterator());
+        adapter.submitSource(source);
+
+        // first screenful
+        executor.runAll();
+        ShadowLooper.runUiThreadTasks();
+        assertEquals(5, adapter.getItemCount());
+        assertTrue(adapter.isStreaming());
+
+        // read ahead and append chunks within frame budget
+        drainStream();
+
+        assertEquals(35, adapter.getItemCount());
+        assertEquals("34", adapter.getItem(34).getId());
+        assertFalse(adapter.isStreaming());
+        assertEquals(35, adapter.streamedCount);
+        assertEquals(1, source.closeCount);
+    }
+
+    @Test
+    public void testShouldAppendStreamedItemsInPlace() {
+        ShadowLooper.pauseMainLooper();
+        adapter.setSectionKeyProvider(new SectionIndex.FirstLetterKeyProvider<>());
+        adapter.setStreamChunkSizes(5, 10);
+        adapter.submitSource(new CountingSource(TestItem.listOf(35).iterator()));
+        executor.runAll();
+        ShadowLooper.runUiThreadTasks();
+
+        // later chunks are only inserted at the end, never diffed
+        List<TestItem> first = adapter.getCurrentList();
+        InsertionObserver observer = new InsertionObserver();
+        adapter.registerAdapterDataObserver(observer);
+        drainStream();
+
+        assertSame(first, adapter.getCurrentList());
+        assertEquals(35, first.size());
+        assertEquals(30, observer.insertedCount);
+        assertEquals(0, observer.otherCount);
+        assertEquals(35, adapter.getSectionIndex().getItemCount());
+    }
+
+    @Test
+    public void testShouldCancelStreamOnSubmit() {
+        ShadowLooper.pauseMainLooper();
+        adapter.setStreamChunkSizes(5, 10);
+        CountingSource source = new CountingSource(TestItem.listOf(35).iterator());
+        adapter.submitSource(source);
+        executor.runAll();
+        ShadowLooper.runUiThreadTasks();
+
+        adapter.submitList(TestItem.listOf(2));
+        executor.runAll();
+        ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+
+        assertEquals(2, adapter.getItemCount());
+        assertFalse(adapter.isStreaming());
+        assertEquals(-1, adapter.streamedCount);
+        assertEquals(1, source.closeCount);
+    }
+
+    private void drainStream() {
+        for (int i = 0; i < 50 && (adapter.isStreaming() || !executor.tasks.isEmpty()); i++) {
+            executor.runAll();
+            ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+        }
+    }
+
+    static class InsertionObserver extends RecyclerView.AdapterDataObserver {
+        int insertedCount = 0;
+        int otherCount = 0;
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            // appended after displayed items
+            assertEquals(5 + insertedCount, positionStart);
+            insertedCount += itemCount;
+        }
+
+        @Override
+        public void onChanged() {
+            otherCount++;
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+            otherCount++;
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            otherCount++;
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            otherCount++;
+        }
+    }
+
+    static class CountingSource extends ItemSource.IteratorSource<TestItem> {
+        int closeCount = 0;
+
+        CountingSource(Iterator<TestItem> iterator) {
+            super(iterator);
+        }
+
+        @Override
+        public void close() {
+            closeCount++;
+        }
+    }
+
+    static class QueueExecutor implements Executor {
+        final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        int executed = 0;
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                executed++;
+                tasks.poll().run();
+            }
+        }
+    }
+
+    static class TestAdapter extends ItemListAdapter<TestItem, RecyclerView.ViewHolder> {
+        int streamedCount = -1;
+
+        TestAdapter(Executor executor) {
+            super(executor);
+        }
+
+        @NonNull
+        @Override
+        public RecyclerView.ViewHolder onCreateItemViewHolder(@NonNull ViewGroup parent, int viewType) {
+            return new RecyclerView.ViewHolder(new View(parent.getContext())) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        }
+
+        @Override
+        protected void onStreamFinished(int itemCount, Exception error) {
+            streamedCount = itemCount;
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.github.lykmapipo.listview.adapter;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.github.lykmapipo.listview.R;
+import com.github.lykmapipo.listview.data.LoadState;
+import com.github.lykmapipo.listview.data.TestItem;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+public class ItemPagedListAdapterTest {
+    Context context;
+    TestPagedAdapter adapter;
+    FooterObserver observer;
+
+    @Before
+    public void setup() {
+        context = new ContextThemeWrapper(
+                ApplicationProvider.getApplicationContext(),
+                R.style.Theme_MaterialComponents_Light
+        );
+        adapter = new TestPagedAdapter();
+        observer = new FooterObserver();
+        adapter.registerAdapterDataObserver(observer);
+    }
+
+    @Test
+    public void testShouldInsertAndRemoveFooter() {
+        adapter.setAppendLoadState(LoadState.LOADING);
+        assertEquals(1, adapter.getItemCount());
+        assertEquals(ItemPagedListAdapter.VIEW_TYPE_FOOTER, adapter.getItemViewType(0));
+        assertEquals(1, observer.inserted);
+
+        adapter.setAppendLoadState(LoadState.ERROR);
+        assertEquals(1, adapter.getItemCount());
+        assertEquals(1, observer.changed);
+
+        adapter.setAppendLoadState(LoadState.LOADED);
+        assertEquals(0, adapter.getItemCount());
+        assertEquals(1, observer.removed);
+    }
+
+    @Test
+    public void testShouldBindFooterRetry() {
+        int[] retries = {0};
+        adapter.setOnRetryClickListener(view -> retries[0]++);
+        adapter.setAppendLoadState(LoadState.OFFLINE);
+
+        ViewGroup parent = new FrameLayout(context);
+        RecyclerView.ViewHolder holder =
+                adapter.onCreateViewHolder(parent, ItemPagedListAdapter.VIEW_TYPE_FOOTER);
+        adapter.onBindViewHolder(holder, 0);
+
+        View retry = holder.itemView.findViewById(R.id.btnLoadStateFooterRetry);
+        assertEquals(View.VISIBLE, retry.getVisibility());
+        assertEquals(View.GONE,
+                holder.itemView.findViewById(R.id.pbLoadStateFooterProgress).getVisibility());
+        retry.performClick();
+        assertEquals(1, retries[0]);
+    }
+
+    static class FooterObserver extends RecyclerView.AdapterDataObserver {
+        int inserted = 0;
+        int changed = 0;
+        int removed = 0;
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            inserted += itemCount;
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount, @Nullable Object payload) {
+            changed += itemCount;
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            removed += itemCount;
+        }
+    }
+
+    static class TestPagedAdapter extends ItemPagedListAdapter<TestItem, RecyclerView.ViewHolder> {
+
+        @NonNull
+        @Override
+        public RecyclerView.ViewHolder onCreateItemViewHolder(@NonNull ViewGroup parent, int viewType) {
+            return new RecyclerView.ViewHolder(new View(parent.getContext())) {
+            };
+        }
+
+        @Override
+        public void onBindItemViewHolder(
+                @NonNull RecyclerView.ViewHolder holder, @Nullable TestItem item, int position
+        ) {
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.lykmapipo.listview.adapter;
+
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.github.lykmapipo.listview.data.TestItem;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class MultiSelectionTest {
+    ItemListAdapterTest.QueueExecutor executor;
+    ItemListAdapterTest.TestAdapter adapter;
+    RecordingObserver observer;
+
+    @Before
+    public void setup() {
+        executor = new ItemListAdapterTest.QueueExecutor();
+        adapter = new ItemListAdapterTest.TestAdapter(executor);
+        adapter.submitList(TestItem.listOf(200));
+        executor.runAll();
+        observer = new RecordingObserver();
+        adapter.registerAdapterDataObserver(observer);
+    }
+
+    @Test
+    public void testShouldRebindOnlyChangedRuns() {
+        MultiSelection<TestItem> selection = adapter.getSelection();
+        selection.setRangeSelected(10, 20, true);
+        selection.setRangeSelected(15, 30, true);
+
+        assertEquals(20, selection.getSelectedCount());
+        assertEquals(2, observer.payloadChanges);
+        assertEquals(20, observer.changedItems);
+        assertEquals(0, observer.fullChanges);
+    }
+
+    @Test
+    public void testShouldSelectAllAndInvert() {
+        MultiSelection<TestItem> selection = adapter.getSelection();
+        selection.setSelected(5, true);
+        selection.invert();
+        assertEquals(199, selection.getSelectedCount());
+        assertFalse(selection.isSelected(5));
+
+        selection.selectAll();
+        assertEquals(200, selection.getSelectedCount());
+        assertEquals(0, observer.fullChanges);
+    }
+
+    @Test
+    public void testShouldKeepSelectionAcrossUpdates() {
+        MultiSelection<TestItem> selection = adapter.getSelection();
+        selection.setSelected(3, true);
+        selection.setSelected(150, true);
+
+        // filter out item 150, shift item 3
+        List<TestItem> filtered = new ArrayList<>(TestItem.listOf(100));
+        filtered.remove(0);
+        adapter.submitList(filtered);
+        executor.runAll();
+
+        assertArrayEquals(new int[]{2}, selection.getSelectedPositions());
+        assertTrue(selection.isSelected("150"));
+        assertSame(filtered.get(2), selection.getSelectedItems().get(0));
+
+        // item 150 is back
+        adapter.submitList(TestItem.listOf(200));
+        executor.runAll();
+
+        assertArrayEquals(new int[]{3, 150}, selection.getSelectedPositions());
+    }
+
+    @Test
+    public void testShouldSelectRememberedItemsOnceStreamed() {
+        MultiSelection<TestItem> selection = adapter.getSelection();
+        executor.runAll();
+        selection.setSelected(150, true);
+        adapter.submitList(TestItem.listOf(100));
+        executor.runAll();
+        assertEquals(0, selection.getSelectedCount());
+
+        ShadowLooper.pauseMainLooper();
+        adapter.setStreamChunkSizes(50, 40);
+        adapter.submitSource(new ItemListAdapterTest.CountingSource(TestItem.listOf(200).iterator()));
+        for (int i = 0; i < 50 && (adapter.isStreaming() || !executor.tasks.isEmpty()); i++) {
+            executor.runAll();
+            ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+        }
+
+        assertEquals(200, adapter.getItemCount());
+        assertArrayEquals(new int[]{150}, selection.getSelectedPositions());
+        assertTrue(selection.isSelected("150"));
+    }
+
+    static class RecordingObserver extends RecyclerView.AdapterDataObserver {
+        int payloadChanges = 0;
+        int changedItems = 0;
+        int fullChanges = 0;
+
+        @Override
+        public void onChanged() {
+            fullChanges++;
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount, @Nullable Object payload) {
+            if (payload == MultiSelection.PAYLOAD_SELECTION) {
+                payloadChanges++;
+                changedItems += itemCount;
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.lykmapipo.listview.adapter;
+
+import android.app.Activity;
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+
+import com.github.lykmapipo.listview.R;
+import com.github.lykmapipo.listview.data.LoadState;
+import com.github.lykmapipo.listview.data.TestItem;
+import com.github.lykmapipo.listview.view.StateLayout;
+import com.github.lykmapipo.listview.view.TestStateLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+@RunWith(RobolectricTestRunner.class)
+public class PagedItemListBinderTest {
+    Context context;
+    View content;
+    StateLayout stateLayout;
+    ItemPagedListAdapterTest.TestPagedAdapter adapter;
+    PagedItemListBinder<TestItem> binder;
+
+    @Before
+    public void setup() {
+        context = new ContextThemeWrapper(
+                Robolectric.buildActivity(Activity.class).setup().get(),
+                R.style.Theme_MaterialComponents_Light
+        );
+        content = new View(context);
+        stateLayout = TestStateLayout.inflate(context, content);
+        adapter = new ItemPagedListAdapterTest.TestPagedAdapter();
+        binder = new PagedItemListBinder<>(stateLayout, adapter);
+    }
+
+    @Test
+    public void testShouldMapInitialLoadStatesToStateLayout() {
+        binder.onInitialLoadStateChanged(LoadState.LOADING);
+        assertSame(stateLayout.getLoadingView(), stateLayout.getVisibleView());
+
+        binder.onInitialLoadStateChanged(LoadState.ERROR);
+        ShadowLooper.idleMainLooper(1, TimeUnit.SECONDS);
+        assertSame(stateLayout.getStateView(), stateLayout.getVisibleView());
+
+        binder.onInitialLoadStateChanged(LoadState.LOADED);
+        ShadowLooper.idleMainLooper(1, TimeUnit.SECONDS);
+        assertSame(content, stateLayout.getVisibleView());
+
+        binder.onInitialLoadStateChanged(LoadState.EMPTY);
+        ShadowLooper.idleMainLooper(1, TimeUnit.SECONDS);
+        assertSame(stateLayout.getStateView(), stateLayout.getVisibleView());
+    }
+
+    @Test
+    public void testShouldMapAppendLoadStatesToFooter() {
+        binder.onAppendLoadStateChanged(LoadState.LOADING);
+        assertEquals(1, adapter.getItemCount());
+
+        binder.onAppendLoadStateChanged(LoadState.OFFLINE);
+        assertEquals(LoadState.OFFLINE, adapter.getAppendLoadState());
+        assertEquals(1, adapter.getItemCount());
+
+        binder.onAppendLoadStateChanged(LoadState.LOADED);
+        assertEquals(0, adapter.getItemCount());
+    }
+
+    @Test
+    public void testShouldDisablePlaceholdersByDefault() {
+        assertFalse(binder.getConfig().enablePlaceholders);
+    }
+}
@@ -0,0 +1,139 @@
+package com.github.lykmapipo.listview.adapter;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.github.lykmapipo.listview.data.TestItem;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.Locale;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+@RunWith(RobolectricTestRunner.class)
+public class SearchableItemListAdapterTest {
+    ItemListAdapterTest.QueueExecutor executor;
+    TestAdapter adapter;
+
+    @Before
+    public void setup() {
+        executor = new ItemListAdapterTest.QueueExecutor();
+        adapter = new TestAdapter(executor);
+        adapter.setItems(TestItem.listOf(1000));
+        executor.runAll();
+    }
+
+    @Test
+    public void testShouldNarrowPreviousResult() {
+        search("name 1");
+        assertEquals(111, adapter.getItemCount());
+        assertEquals(1000, adapter.getScannedCount());
+
+        search("name 12");
+        assertEquals(11, adapter.getItemCount());
+        assertEquals(111, adapter.getScannedCount());
+    }
+
+    @Test
+    public void testShouldNotNarrowWithOverriddenMatcher() {
+        adapter = new TestAdapter(executor) {
+            @Override
+            protected boolean matches(@NonNull TestItem item, @NonNull String query) {
+                return item.getName().equalsIgnoreCase(query);
+            }
+
+            @Override
+            protected boolean isNarrowable(@NonNull String previous, @NonNull String query) {
+                return false;
+            }
+        };
+        adapter.setItems(TestItem.listOf(1000));
+        executor.runAll();
+
+        search("name 1");
+        assertEquals(1, adapter.getItemCount());
+
+        search("name 12");
+        assertEquals(1, adapter.getItemCount());
+        assertEquals(1000, adapter.getScannedCount());
+    }
+
+    @Test
+    public void testShouldMatchIndexHitsWithOverriddenMatcher() {
+        adapter = new TestAdapter(executor) {
+            @Override
+            protected boolean matches(@NonNull TestItem item, @NonNull String query) {
+                return item.getName().equalsIgnoreCase(query);
+            }
+        };
+        adapter.setIndexEnabled(true);
+        adapter.setItems(TestItem.listOf(1000));
+        executor.runAll();
+        ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+        assertNotNull(adapter.getIndex());
+
+        search("name 1");
+        assertEquals(1, adapter.getItemCount());
+        assertEquals(111, adapter.getScannedCount());
+    }
+
+    @Test
+    public void testShouldNormalizeQueryIndependentOfLocale() {
+        Locale locale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr"));
+        try {
+            search("DESCRIPTION 99");
+            assertEquals("description 99", adapter.getQuery());
+            assertEquals(11, adapter.getItemCount());
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    @Test
+    public void testShouldDropStaleSearch() {
+        adapter.search("name 1");
+        ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+        adapter.search("description 99");
+        ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+        executor.runAll();
+
+        assertEquals(11, adapter.getItemCount());
+        assertEquals("description 99", adapter.getQuery());
+    }
+
+    private void search(String query) {
+        adapter.search(query);
+        ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+        executor.runAll();
+    }
+
+    static class TestAdapter extends SearchableItemListAdapter<TestItem, RecyclerView.ViewHolder> {
+
+        TestAdapter(Executor executor) {
+            super(executor);
+        }
+
+        @NonNull
+        @Override
+        public RecyclerView.ViewHolder onCreateItemViewHolder(@NonNull ViewGroup parent, int viewType) {
+            return new RecyclerView.ViewHolder(new View(parent.getContext())) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        }
+    }
+
+}
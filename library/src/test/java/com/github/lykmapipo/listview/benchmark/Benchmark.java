@@ -0,0 +1,97 @@
+package com.github.lykmapipo.listview.benchmark;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Measure an operation and report machine-readable results.
+ * <p>
+ * Each result is printed as a {@code benchmark=name key=value} line and appended as
+ * a JSON line to {@code benchmarks.jsonl} in {@code benchmark.output} directory.
+ */
+final class Benchmark {
+
+    private static final String OUTPUT = System.getProperty("benchmark.output", "build/benchmarks");
+
+    private Benchmark() {
+    }
+
+    static Result measure(String name, int warmup, int iterations, Runnable operation) {
+        for (int i = 0; i < warmup; i++) {
+            operation.run();
+        }
+
+        long[] samples = new long[iterations];
+        long allocated = allocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            operation.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        allocated = allocatedBytes() - allocated;
+
+        Arrays.sort(samples);
+        return new Result(name)
+                .with("iterations", iterations)
+                .with("median_ns", samples[iterations / 2])
+                .with("p90_ns", samples[Math.min(iterations - 1, iterations * 9 / 10)])
+                .with("min_ns", samples[0])
+                .with("alloc_bytes_per_op", allocated < 0 ? -1 : allocated / iterations);
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean)
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    static final class Result {
+        final String name;
+        final Map<String, Long> values = new LinkedHashMap<>();
+
+        Result(String name) {
+            this.name = name;
+        }
+
+        Result with(String key, long value) {
+            values.put(key, value);
+            return this;
+        }
+
+        long get(String key) {
+            Long value = values.get(key);
+            return value != null ? value : 0;
+        }
+
+        Result report() {
+            StringBuilder line = new StringBuilder("benchmark=").append(name);
+            StringBuilder json = new StringBuilder("{\"benchmark\":\"").append(name).append('"');
+            for (Map.Entry<String, Long> entry : values.entrySet()) {
+                line.append(' ').append(entry.getKey()).append('=').append(entry.getValue());
+                json.append(",\"").append(entry.getKey()).append("\":").append(entry.getValue());
+            }
+            json.append("}\n");
+            System.out.println(line);
+
+            File dir = new File(OUTPUT);
+            if (dir.isDirectory() || dir.mkdirs()) {
+                try (Writer writer = new FileWriter(new File(dir, "benchmarks.jsonl"), true)) {
+                    writer.write(json.toString());
+                } catch (IOException e) {
+                    System.err.println("benchmark=" + name + " error=" + e.getMessage());
+                }
+            }
+            return this;
+        }
+    }
+}
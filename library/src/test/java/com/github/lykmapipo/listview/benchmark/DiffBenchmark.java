@@ -0,0 +1,110 @@
+package com.github.lykmapipo.listview.benchmark;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.github.lykmapipo.listview.adapter.ItemListAdapter;
+import com.github.lykmapipo.listview.data.TestItem;
+import com.github.lykmapipo.listview.metrics.LatencyHistogram;
+import com.github.lykmapipo.listview.metrics.ListMetrics;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+public class DiffBenchmark {
+
+    @Before
+    public void setup() {
+        ListMetrics.getInstance().setEnabled(true);
+    }
+
+    @Test
+    public void benchmarkDiff1k() {
+        benchmarkDiff(1_000, 10, 50);
+    }
+
+    @Test
+    public void benchmarkDiff10k() {
+        benchmarkDiff(10_000, 5, 20);
+    }
+
+    @Test
+    public void benchmarkDiff100k() {
+        benchmarkDiff(100_000, 2, 5);
+    }
+
+    @After
+    public void cleanup() {
+        ListMetrics.getInstance().setEnabled(false);
+        ListMetrics.getInstance().reset();
+    }
+
+    private void benchmarkDiff(int size, int warmup, int iterations) {
+        List<TestItem> original = TestItem.listOf(size);
+        List<TestItem> changed = changedCopyOf(original);
+        BenchmarkAdapter adapter = new BenchmarkAdapter();
+        submit(adapter, original);
+
+        // alternate lists so every submission is diffed
+        boolean[] toggle = {false};
+        Benchmark.Result result = Benchmark.measure("adapter_diff_" + size, warmup, iterations, () -> {
+            toggle[0] = !toggle[0];
+            submit(adapter, toggle[0] ? changed : original);
+        });
+
+        LatencyHistogram diffLatency = ListMetrics.getInstance().getDiffLatency();
+        result.with("items", size)
+                .with("diff_p50_ns", diffLatency.getValueAtPercentile(50))
+                .with("diff_max_ns", diffLatency.getMaxNanos())
+                .report();
+
+        assertEquals(size, adapter.getItemCount());
+    }
+
+    private static void submit(BenchmarkAdapter adapter, List<TestItem> items) {
+        adapter.submitList(items);
+        ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+    }
+
+    private static List<TestItem> changedCopyOf(List<TestItem> items) {
+        // change 1% of items, move one and keep size
+        List<TestItem> changed = new ArrayList<>(items);
+        for (int i = 0; i < changed.size(); i += 100) {
+            TestItem item = changed.get(i);
+            changed.set(i, new TestItem(item.getId(), item.getName() + " changed", item.getDescription()));
+        }
+        changed.add(changed.remove(changed.size() / 2));
+        return changed;
+    }
+
+    static class BenchmarkAdapter extends ItemListAdapter<TestItem, RecyclerView.ViewHolder> {
+
+        BenchmarkAdapter() {
+            super(Runnable::run);
+        }
+
+        @NonNull
+        @Override
+        public RecyclerView.ViewHolder onCreateItemViewHolder(@NonNull ViewGroup parent, int viewType) {
+            return new RecyclerView.ViewHolder(new View(parent.getContext())) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.github.lykmapipo.listview.benchmark;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.github.lykmapipo.listview.R;
+import com.github.lykmapipo.listview.adapter.ItemListAdapter;
+import com.github.lykmapipo.listview.data.PageCache;
+import com.github.lykmapipo.listview.data.TestItem;
+import com.github.lykmapipo.listview.recyclerview.ListSnapshot;
+import com.github.lykmapipo.listview.recyclerview.SharedViewPool;
+import com.github.lykmapipo.listview.view.StateLayout;
+import com.github.lykmapipo.listview.view.TestStateLayout;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+@RunWith(RobolectricTestRunner.class)
+public class RecyclerBenchmark {
+    Context context;
+
+    @Before
+    public void setup() {
+        context = new ContextThemeWrapper(
+                ApplicationProvider.getApplicationContext(),
+                R.style.Theme_MaterialComponents_Light
+        );
+    }
+
+    @Test
+    public void benchmarkSharedViewPool() {
+        SharedViewPool pool = SharedViewPool.of(context);
+        pool.setCapacity(0, 20);
+
+        RecyclerView first = newRecyclerView(pool);
+        RecyclerView second = newRecyclerView(pool);
+        BenchmarkAdapter firstAdapter = new BenchmarkAdapter();
+        BenchmarkAdapter secondAdapter = new BenchmarkAdapter();
+        submit(firstAdapter);
+        submit(secondAdapter);
+        first.setAdapter(firstAdapter);
+        second.setAdapter(secondAdapter);
+
+        layout(first);
+        first.setAdapter(null);
+        layout(second);
+
+        new Benchmark.Result("shared_view_pool")
+                .with("created", pool.missCount())
+                .with("reused", pool.hitCount())
+                .report();
+
+        assertEquals(0, secondAdapter.createCount);
+        assertEquals(firstAdapter.createCount, pool.hitCount());
+    }
+
+    @Test
+    public void benchmarkListSnapshotRestore() {
+        PageCache.Codec<TestItem> codec = new TestItemCodec();
+        ListSnapshot<TestItem> snapshot = new ListSnapshot<>(
+                500, -12, 475, new int[]{24, 25, 26}, TestItem.listOf(50)
+        );
+        byte[] bytes = snapshot.toByteArray(codec);
+
+        RecyclerView recyclerView = newRecyclerView(null);
+        BenchmarkAdapter adapter = new BenchmarkAdapter();
+        recyclerView.setAdapter(adapter);
+        StateLayout stateLayout = TestStateLayout.inflate(context, recyclerView);
+
+        long start = System.nanoTime();
+        ListSnapshot.fromByteArray(bytes, codec).restore(stateLayout, recyclerView, adapter);
+        long timeToContent = System.nanoTime() - start;
+
+        new Benchmark.Result("list_snapshot_restore")
+                .with("bytes", bytes.length)
+                .with("time_to_content_ns", timeToContent)
+                .report();
+
+        assertSame(recyclerView, stateLayout.getVisibleView());
+        assertEquals(0, stateLayout.getLoadingViewInflationCount());
+    }
+
+    @After
+    public void cleanup() {
+        SharedViewPool.of(context).clear();
+        context = null;
+    }
+
+    private RecyclerView newRecyclerView(SharedViewPool pool) {
+        RecyclerView recyclerView = new RecyclerView(context);
+        recyclerView.setLayoutManager(new LinearLayoutManager(context));
+        if (pool != null) {
+            pool.attach(recyclerView);
+        }
+        return recyclerView;
+    }
+
+    private static void submit(BenchmarkAdapter adapter) {
+        adapter.submitList(TestItem.listOf(20));
+        ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+    }
+
+    private static void layout(RecyclerView recyclerView) {
+        recyclerView.measure(
+                View.MeasureSpec.makeMeasureSpec(1000, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(1000, View.MeasureSpec.EXACTLY)
+        );
+        recyclerView.layout(0, 0, 1000, 1000);
+    }
+
+    static class BenchmarkAdapter extends ItemListAdapter<TestItem, RecyclerView.ViewHolder> {
+        int createCount = 0;
+
+        BenchmarkAdapter() {
+            super(Runnable::run);
+        }
+
+        @NonNull
+        @Override
+        public RecyclerView.ViewHolder onCreateItemViewHolder(@NonNull ViewGroup parent, int viewType) {
+            createCount++;
+            View view = new View(parent.getContext());
+            view.setLayoutParams(new RecyclerView.LayoutParams(
+                    ViewGroup.LayoutParams.MATCH_PARENT, 100
+            ));
+            return new RecyclerView.ViewHolder(view) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        }
+    }
+
+    static class TestItemCodec implements PageCache.Codec<TestItem> {
+
+        @Override
+        public void write(@NonNull DataOutput out, @NonNull TestItem item) throws IOException {
+            out.writeUTF(item.getId());
+            out.writeUTF(item.getName());
+            out.writeUTF(item.getDescription());
+        }
+
+        @NonNull
+        @Override
+        public TestItem read(@NonNull DataInput in) throws IOException {
+            return new TestItem(in.readUTF(), in.readUTF(), in.readUTF());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.lykmapipo.listview.benchmark;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.github.lykmapipo.listview.adapter.SearchableItemListAdapter;
+import com.github.lykmapipo.listview.data.SearchIndex;
+import com.github.lykmapipo.listview.data.TestItem;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+public class SearchBenchmark {
+
+    @Test
+    public void benchmarkSearch10k() {
+        benchmarkSearch(10_000, 5, 30);
+    }
+
+    @Test
+    public void benchmarkSearch100k() {
+        benchmarkSearch(100_000, 2, 10);
+    }
+
+    @Test
+    public void benchmarkSearchIndex100k() {
+        List<TestItem> items = TestItem.listOf(100_000);
+
+        Benchmark.measure("search_index_build_100000", 1, 5, () -> SearchIndex.build(items))
+                .report();
+
+        SearchIndex<TestItem> index = SearchIndex.build(items);
+        Benchmark.measure("search_index_query_100000", 10, 100, () -> index.search("name 12"))
+                .with("index_bytes", index.sizeInBytes())
+                .with("results", index.search("name 12").length)
+                .report();
+    }
+
+    @Test
+    public void benchmarkSearchIndexAgainstScan200k() {
+        List<TestItem> items = TestItem.listOf(200_000);
+        SearchIndex<TestItem> index = SearchIndex.build(items);
+
+        Benchmark.measure("search_index_query_200000", 10, 100, () -> index.search("name 19999"))
+                .with("index_bytes", index.sizeInBytes())
+                .report();
+        Benchmark.measure("search_scan_200000", 1, 5, () -> scan(items, "name 19999"))
+                .report();
+
+        assertEquals(scan(items, "name 19999").size(), index.search("name 19999").length);
+    }
+
+    private void benchmarkSearch(int size, int warmup, int iterations) {
+        BenchmarkAdapter adapter = new BenchmarkAdapter();
+        adapter.setSearchDelay(0);
+        adapter.setItems(TestItem.listOf(size));
+        ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+
+        // reset query each time so every search scans all items
+        Benchmark.Result result = Benchmark.measure("adapter_search_" + size, warmup, iterations, () -> {
+            search(adapter, "name 12");
+            search(adapter, "");
+        });
+        search(adapter, "name 12");
+        result.with("items", size)
+                .with("results", adapter.getItemCount())
+                .with("scanned", adapter.getScannedCount())
+                .report();
+
+        assertEquals(size, adapter.getScannedCount());
+    }
+
+    private static List<TestItem> scan(List<TestItem> items, String query) {
+        List<TestItem> result = new ArrayList<>();
+        for (TestItem item : items) {
+            if (item.getName().toLowerCase(Locale.ROOT).contains(query)
+                    || item.getDescription().toLowerCase(Locale.ROOT).contains(query)) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    private static void search(BenchmarkAdapter adapter, String query) {
+        adapter.search(query);
+        ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+    }
+
+    static class BenchmarkAdapter extends SearchableItemListAdapter<TestItem, RecyclerView.ViewHolder> {
+
+        BenchmarkAdapter() {
+            super(Runnable::run);
+        }
+
+        @NonNull
+        @Override
+        public RecyclerView.ViewHolder onCreateItemViewHolder(@NonNull ViewGroup parent, int viewType) {
+            return new RecyclerView.ViewHolder(new View(parent.getContext())) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        }
+    }
+}
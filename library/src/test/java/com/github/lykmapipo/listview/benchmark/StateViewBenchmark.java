@@ -0,0 +1,115 @@
+package com.github.lykmapipo.listview.benchmark;
+
+import android.app.Activity;
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+
+import com.github.lykmapipo.listview.R;
+import com.github.lykmapipo.listview.metrics.ListMetrics;
+import com.github.lykmapipo.listview.view.StateLayout;
+import com.github.lykmapipo.listview.view.StateView;
+import com.github.lykmapipo.listview.view.StateViewPool;
+import com.github.lykmapipo.listview.view.TestStateLayout;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+public class StateViewBenchmark {
+    Context context;
+
+    @Before
+    public void setup() {
+        context = newContext();
+        ListMetrics.getInstance().setEnabled(true);
+    }
+
+    @Test
+    public void benchmarkStateViewConstruction() {
+        Benchmark.measure("state_view_construct_xml", 20, 200, () -> new StateView(context, false))
+                .report();
+
+        Benchmark.measure("state_view_construct_code", 20, 200, () -> new StateView(context, true))
+                .report();
+    }
+
+    @Test
+    public void benchmarkStateLayoutTransitions() {
+        ListMetrics metrics = ListMetrics.getInstance();
+        StateLayout layout = TestStateLayout.inflate(context, new View(context));
+        layout.setPoolingEnabled(true);
+
+        Benchmark.Result result = Benchmark.measure("state_layout_transitions", 20, 500, () -> {
+            layout.showLoading();
+            layout.showEmpty();
+            layout.showError();
+            layout.showOffline();
+            layout.showContent();
+        });
+        result.with("state_view_inflations", metrics.getStateViewInflationCount())
+                .with("loading_view_inflations", metrics.getLoadingViewInflationCount())
+                .report();
+
+        // views are borrowed from the pool, never inflated per transition
+        assertEquals(1, result.get("state_view_inflations"));
+        assertEquals(1, result.get("loading_view_inflations"));
+    }
+
+    @Test
+    public void benchmarkFirstShowWithWarmUp() throws Exception {
+        // cold: no warm up
+        long coldNanos = timeFirstShow(TestStateLayout.inflate(context, new View(context)));
+
+        // warm: pre inflate off the main thread
+        Context warmContext = newContext();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        StateViewPool.setWarmUpExecutor(executor);
+        StateViewPool.warmUp(warmContext, 1, 1);
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        StateLayout warm = TestStateLayout.inflate(warmContext, new View(warmContext));
+        warm.setPoolingEnabled(true);
+        long warmNanos = timeFirstShow(warm);
+
+        new Benchmark.Result("state_layout_first_show")
+                .with("cold_ns", coldNanos)
+                .with("warm_ns", warmNanos)
+                .report();
+        assertEquals(0, warm.getStateViewInflationCount());
+        assertEquals(0, warm.getLoadingViewInflationCount());
+    }
+
+    @After
+    public void cleanup() {
+        StateViewPool.setWarmUpExecutor(null);
+        StateViewPool.of(context).clear();
+        ListMetrics.getInstance().setEnabled(false);
+        ListMetrics.getInstance().reset();
+        context = null;
+    }
+
+    private long timeFirstShow(StateLayout layout) {
+        long start = System.nanoTime();
+        layout.showEmpty();
+        return System.nanoTime() - start;
+    }
+
+    private Context newContext() {
+        return new ContextThemeWrapper(
+                Robolectric.buildActivity(Activity.class).setup().get(),
+                R.style.Theme_MaterialComponents_Light
+        );
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.lykmapipo.listview.data;
+
+import androidx.annotation.NonNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PageCacheTest {
+    File file;
+    long now;
+
+    @Before
+    public void setup() throws IOException {
+        file = File.createTempFile("pages", ".seg");
+        now = 1000L;
+    }
+
+    @Test
+    public void testShouldEvictLeastRecentPageFromMemory() {
+        PageCache<TestItem> cache = newPageCache(null);
+        cache.put(1, 20, TestItem.listOf(2));
+        cache.put(2, 20, TestItem.listOf(2));
+        cache.get(1, 20);
+        cache.put(3, 20, TestItem.listOf(2));
+
+        assertNotNull(cache.get(1, 20));
+        assertNull(cache.get(2, 20));
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    public void testShouldMarkExpiredPagesStale() {
+        PageCache<TestItem> cache = newPageCache(null);
+        cache.put(1, 20, TestItem.listOf(2));
+        assertFalse(cache.get(1, 20).isStale());
+
+        now += 61000L;
+        assertTrue(cache.get(1, 20).isStale());
+        assertEquals(2, cache.get(1, 20).getItems().size());
+    }
+
+    @Test
+    public void testShouldRestorePagesFromDisk() {
+        PageCache<TestItem> cache = newPageCache(file);
+        cache.put(1, 20, TestItem.listOf(5));
+        cache.put(1, 20, TestItem.listOf(3));
+        cache.put(2, 20, TestItem.listOf(4));
+        cache.close();
+
+        PageCache<TestItem> restored = newPageCache(file);
+        assertEquals(3, restored.get(1, 20).getItems().size());
+        assertEquals("Name 2", restored.get(2, 20).getItems().get(2).getName());
+        assertEquals(2, restored.diskHitCount());
+        restored.close();
+    }
+
+    @Test
+    public void testShouldKeyPagesByPageSize() {
+        PageCache<TestItem> cache = newPageCache(file);
+        cache.put(1, 60, TestItem.listOf(6));
+        cache.put(1, 20, TestItem.listOf(2));
+        cache.close();
+
+        PageCache<TestItem> restored = newPageCache(file);
+        assertEquals(6, restored.get(1, 60).getItems().size());
+        assertEquals(2, restored.get(1, 20).getItems().size());
+        assertNull(restored.get(2, 20));
+        restored.close();
+    }
+
+    @After
+    public void cleanup() {
+        file.delete();
+    }
+
+    private PageCache<TestItem> newPageCache(File file) {
+        return new PageCache<TestItem>(2, 60000L, file, new TestItemCodec()) {
+            @Override
+            protected long now() {
+                return now;
+            }
+        };
+    }
+
+    static class TestItemCodec implements PageCache.Codec<TestItem> {
+
+        @Override
+        public void write(@NonNull DataOutput out, @NonNull TestItem item) throws IOException {
+            out.writeUTF(item.getId());
+            out.writeUTF(item.getName());
+            out.writeUTF(item.getDescription());
+        }
+
+        @NonNull
+        @Override
+        public TestItem read(@NonNull DataInput in) throws IOException {
+            return new TestItem(in.readUTF(), in.readUTF(), in.readUTF());
+        }
+    }
+
+}
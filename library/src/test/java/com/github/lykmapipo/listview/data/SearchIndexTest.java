@@ -0,0 +1,51 @@
+package com.github.lykmapipo.listview.data;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SearchIndexTest {
+
+    @Test
+    public void testShouldMatchLinearScan() {
+        List<TestItem> items = TestItem.listOf(5000);
+        SearchIndex<TestItem> index = SearchIndex.build(items, 10);
+
+        for (String query : new String[]{"", "1", "Name 12", "description 499", "ipt", "zzz"}) {
+            assertArrayEquals(query, scan(items, query), index.search(query));
+        }
+    }
+
+    @Test
+    public void testShouldSizeBucketsFromItemCount() {
+        List<TestItem> items = TestItem.listOf(100);
+        SearchIndex<TestItem> index = SearchIndex.build(items);
+
+        // far below offsets of 2^18 buckets
+        assertTrue(index.sizeInBytes() < 64 * 1024);
+        assertArrayEquals(scan(items, "name 1"), index.search("name 1"));
+    }
+
+    private int[] scan(List<TestItem> items, String query) {
+        String normalized = query.trim().toLowerCase(Locale.ROOT);
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            TestItem item = items.get(i);
+            if (item.getName().toLowerCase(Locale.ROOT).contains(normalized)
+                    || item.getDescription().toLowerCase(Locale.ROOT).contains(normalized)) {
+                positions.add(i);
+            }
+        }
+        int[] result = new int[positions.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = positions.get(i);
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.github.lykmapipo.listview.data;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SectionIndexTest {
+
+    @Test
+    public void testShouldIndexFirstLetters() {
+        SectionIndex index = SectionIndex.build(itemsOf("1st", "alpha", "Apple", "beta", "Charlie", "coco"));
+
+        assertArrayEquals(new String[]{"#", "A", "B", "C"}, index.getSections());
+        assertEquals(1, index.getPositionForSection(1));
+        assertEquals(4, index.getPositionForSection(3));
+        assertEquals(3, index.getSectionForKey("C"));
+        assertTrue(index.isSectionStart(3));
+        assertFalse(index.isSectionStart(2));
+    }
+
+    @Test
+    public void testShouldFindSectionForPosition() {
+        SectionIndex index = SectionIndex.build(itemsOf("alpha", "Apple", "beta", "Charlie", "coco"));
+
+        assertEquals(0, index.getSectionForPosition(0));
+        assertEquals(0, index.getSectionForPosition(1));
+        assertEquals(1, index.getSectionForPosition(2));
+        assertEquals(2, index.getSectionForPosition(4));
+        assertEquals(-1, SectionIndex.empty().getSectionForPosition(0));
+    }
+
+    @Test
+    public void testShouldUpdateFromChangedPosition() {
+        SectionIndex.KeyProvider<TestItem> keyProvider = new SectionIndex.FirstLetterKeyProvider<>();
+        List<TestItem> items = itemsOf("alpha", "Apple", "beta", "Charlie", "coco");
+        SectionIndex previous = SectionIndex.build(items, keyProvider);
+
+        // insert into B section and append D section
+        List<TestItem> changed = new ArrayList<>(items);
+        changed.add(3, new TestItem("x", "bravo", null));
+        changed.add(new TestItem("y", "delta", null));
+        SectionIndex updated = SectionIndex.update(previous, changed, 3, keyProvider);
+
+        SectionIndex built = SectionIndex.build(changed, keyProvider);
+        assertArrayEquals(built.getSections(), updated.getSections());
+        for (int i = 0; i < built.getSectionCount(); i++) {
+            assertEquals(built.getPositionForSection(i), updated.getPositionForSection(i));
+        }
+        assertEquals(changed.size(), updated.getItemCount());
+    }
+
+    private static List<TestItem> itemsOf(String... names) {
+        List<TestItem> items = new ArrayList<>();
+        for (String name : names) {
+            items.add(new TestItem(name, name, null));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,175 @@
+package com.github.lykmapipo.listview.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.paging.PageKeyedDataSource;
+import androidx.paging.PagedList;
+
+import com.google.android.gms.tasks.CancellationToken;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class TaskPageKeyedDataSourceTest {
+    List<TaskCompletionSource<List<TestItem>>> requests;
+    List<CancellationToken> tokens;
+    List<LoadState> appendStates;
+    TaskPageKeyedDataSource<TestItem> dataSource;
+
+    @Before
+    public void setup() {
+        requests = new ArrayList<>();
+        tokens = new ArrayList<>();
+        appendStates = new ArrayList<>();
+        dataSource = new TaskPageKeyedDataSource<>(
+                (page, pageSize, token) -> {
+                    TaskCompletionSource<List<TestItem>> source = new TaskCompletionSource<>(token);
+                    requests.add(source);
+                    tokens.add(token);
+                    return source.getTask();
+                },
+                new LoadStateListener() {
+                    @Override
+                    public void onInitialLoadStateChanged(@NonNull LoadState state) {
+                    }
+
+                    @Override
+                    public void onAppendLoadStateChanged(@NonNull LoadState state) {
+                        appendStates.add(state);
+                    }
+                },
+                Runnable::run
+        );
+    }
+
+    @Test
+    public void testShouldNotRepeatRowsAfterLargerInitialLoad() {
+        List<TestItem> rows = TestItem.listOf(100);
+        TaskPageKeyedDataSource<TestItem> source = new TaskPageKeyedDataSource<>(
+                (page, pageSize, token) -> {
+                    int from = Math.min(rows.size(), (page - 1) * pageSize);
+                    int to = Math.min(rows.size(), from + pageSize);
+                    return Tasks.forResult(new ArrayList<>(rows.subList(from, to)));
+                },
+                null,
+                Runnable::run
+        );
+
+        // default config, initial load size is 3 pages
+        PagedList<TestItem> pagedList = new PagedList.Builder<>(
+                source, new PagedList.Config.Builder().setPageSize(10).build()
+        ).setFetchExecutor(Runnable::run).setNotifyExecutor(Runnable::run).build();
+        for (int i = 0; i < 20 && pagedList.size() < rows.size(); i++) {
+            pagedList.loadAround(pagedList.size() - 1);
+        }
+
+        Set<String> ids = new HashSet<>();
+        for (TestItem item : pagedList) {
+            assertTrue(ids.add(item.getId()));
+        }
+        assertEquals(rows.size(), pagedList.size());
+        assertEquals("99", pagedList.get(99).getId());
+    }
+
+    @Test
+    public void testShouldSkipLoadedRowsOfUnalignedPage() {
+        List<TestItem> page = new ArrayList<>();
+        PageKeyedDataSource.LoadCallback<Integer, TestItem> callback =
+                new PageKeyedDataSource.LoadCallback<Integer, TestItem>() {
+                    @Override
+                    public void onResult(@NonNull List<TestItem> data, @Nullable Integer adjacentPageKey) {
+                        page.addAll(data);
+                        assertEquals(Integer.valueOf(40), adjacentPageKey);
+                    }
+                };
+
+        // 25 rows loaded, next page of 20 starts at row 20
+        dataSource.loadAfter(new PageKeyedDataSource.LoadParams<>(25, 20), callback);
+        requests.get(0).setResult(TestItem.listOf(20));
+
+        assertEquals(15, page.size());
+        assertEquals("5", page.get(0).getId());
+        assertEquals(LoadState.LOADED, appendStates.get(appendStates.size() - 1));
+    }
+
+    @Test
+    public void testShouldRetryOnlyFailedAppend() {
+        List<TestItem> page = new ArrayList<>();
+        dataSource.loadAfter(
+                new PageKeyedDataSource.LoadParams<>(20, 20),
+                new PageKeyedDataSource.LoadCallback<Integer, TestItem>() {
+                    @Override
+                    public void onResult(@NonNull List<TestItem> data, @Nullable Integer adjacentPageKey) {
+                        page.addAll(data);
+                    }
+                }
+        );
+        requests.get(0).setException(new IllegalStateException());
+        assertEquals(LoadState.ERROR, appendStates.get(appendStates.size() - 1));
+
+        assertTrue(dataSource.retry());
+        requests.get(1).setResult(TestItem.listOf(20));
+
+        assertFalse(dataSource.isInvalid());
+        assertFalse(dataSource.retry());
+        assertEquals(20, page.size());
+        assertEquals(LoadState.LOADED, appendStates.get(appendStates.size() - 1));
+    }
+
+    @Test
+    public void testShouldCancelOnInvalidate() {
+        dataSource.loadAfter(
+                new PageKeyedDataSource.LoadParams<>(2, 20),
+                new PageKeyedDataSource.LoadCallback<Integer, TestItem>() {
+                    @Override
+                    public void onResult(@NonNull List<TestItem> data, @Nullable Integer adjacentPageKey) {
+                    }
+                }
+        );
+
+        dataSource.invalidate();
+
+        assertTrue(tokens.get(0).isCancellationRequested());
+    }
+
+    @Test
+    public void testShouldCancelAndResumeAppend() {
+        List<TestItem> page = new ArrayList<>();
+        dataSource.loadAfter(
+                new PageKeyedDataSource.LoadParams<>(20, 20),
+                new PageKeyedDataSource.LoadCallback<Integer, TestItem>() {
+                    @Override
+                    public void onResult(@NonNull List<TestItem> data, @Nullable Integer adjacentPageKey) {
+                        page.addAll(data);
+                    }
+                }
+        );
+
+        assertTrue(dataSource.cancelAppend());
+        assertTrue(requests.get(0).getTask().isCanceled());
+        assertEquals(LoadState.LOADED, appendStates.get(appendStates.size() - 1));
+        assertFalse(dataSource.cancelAppend());
+
+        assertTrue(dataSource.resumeAppend());
+        requests.get(1).setResult(TestItem.listOf(20));
+
+        assertFalse(dataSource.resumeAppend());
+        assertFalse(dataSource.isInvalid());
+        assertEquals(20, page.size());
+    }
+
+}
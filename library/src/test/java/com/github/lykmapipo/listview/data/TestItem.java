@@ -0,0 +1,51 @@
+package com.github.lykmapipo.listview.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestItem implements Item {
+    private final String id;
+    private final String name;
+    private final String description;
+
+    public TestItem(String id, String name, String description) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+    }
+
+    public static List<TestItem> listOf(int size) {
+        List<TestItem> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(new TestItem(String.valueOf(i), "Name " + i, "Description " + i));
+        }
+        return items;
+    }
+
+    @NonNull
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Nullable
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Nullable
+    @Override
+    public String getColor() {
+        return null;
+    }
+}
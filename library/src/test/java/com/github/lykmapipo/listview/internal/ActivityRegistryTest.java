@@ -0,0 +1,60 @@
+package com.github.lykmapipo.listview.internal;
+
+import android.app.Activity;
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.github.lykmapipo.listview.R;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.android.controller.ActivityController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class ActivityRegistryTest {
+
+    @Test
+    public void testShouldDropValuesOfDestroyedActivity() {
+        List<String> destroyed = new ArrayList<>();
+        ActivityRegistry<String> registry = new ActivityRegistry<>(destroyed::add);
+        ActivityController<Activity> controller = Robolectric.buildActivity(Activity.class).setup();
+        Context context = new ContextThemeWrapper(
+                controller.get(), R.style.Theme_MaterialComponents_Light
+        );
+
+        assertTrue(registry.put(controller.get(), "activity"));
+        assertTrue(registry.put(context, "themed"));
+        assertSame(controller.get(), ActivityRegistry.findActivity(context));
+        assertEquals("themed", registry.get(context));
+
+        controller.destroy();
+
+        assertEquals(2, destroyed.size());
+        assertNull(registry.get(context));
+        assertNull(registry.get(controller.get()));
+    }
+
+    @Test
+    public void testShouldNotKeepNonActivityContext() {
+        ActivityRegistry<String> registry = new ActivityRegistry<>(value -> {
+        });
+        Context context = ApplicationProvider.getApplicationContext();
+
+        assertNull(ActivityRegistry.findActivity(context));
+        assertFalse(registry.put(context, "application"));
+        assertNull(registry.get(context));
+    }
+}
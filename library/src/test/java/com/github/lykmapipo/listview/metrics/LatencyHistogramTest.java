@@ -0,0 +1,61 @@
+package com.github.lykmapipo.listview.metrics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+    LatencyHistogram histogram;
+
+    @Before
+    public void setup() {
+        histogram = new LatencyHistogram();
+    }
+
+    @Test
+    public void testShouldMapValuesToContiguousBuckets() {
+        for (int index = 0; index < histogram.getBucketCount(); index++) {
+            long lowerBound = histogram.getBucketLowerBound(index);
+            assertEquals(index, LatencyHistogram.indexOf(lowerBound));
+            if (lowerBound > 0) {
+                assertEquals(index - 1, LatencyHistogram.indexOf(lowerBound - 1));
+            }
+        }
+        assertEquals(histogram.getBucketCount() - 1, LatencyHistogram.indexOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testShouldRecordLatencies() {
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(100_000L, histogram.getMaxNanos());
+        assertEquals(50_500L, histogram.getMeanNanos());
+    }
+
+    @Test
+    public void testShouldReportPercentilesWithinBucketPrecision() {
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        long p50 = histogram.getValueAtPercentile(50);
+        long p99 = histogram.getValueAtPercentile(99);
+        assertTrue(p50 >= 50_000L && p50 <= 50_000L * 5 / 4);
+        assertTrue(p99 >= 99_000L && p99 <= 100_000L);
+        assertEquals(100_000L, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testShouldReset() {
+        histogram.record(42);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+    }
+}
@@ -0,0 +1,131 @@
+package com.github.lykmapipo.listview.recyclerview;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.github.lykmapipo.listview.R;
+import com.github.lykmapipo.listview.adapter.ItemListAdapter;
+import com.github.lykmapipo.listview.data.PageCache;
+import com.github.lykmapipo.listview.data.TestItem;
+import com.github.lykmapipo.listview.view.StateLayout;
+import com.github.lykmapipo.listview.view.TestStateLayout;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(RobolectricTestRunner.class)
+public class ListSnapshotTest {
+    Context context;
+    PageCache.Codec<TestItem> codec;
+
+    @Before
+    public void setup() {
+        context = new ContextThemeWrapper(
+                ApplicationProvider.getApplicationContext(),
+                R.style.Theme_MaterialComponents_Light
+        );
+        codec = new PageCache.Codec<TestItem>() {
+            @Override
+            public void write(@NonNull DataOutput out, @NonNull TestItem item) throws IOException {
+                out.writeUTF(item.getId());
+                out.writeUTF(item.getName());
+                out.writeUTF(item.getDescription());
+            }
+
+            @NonNull
+            @Override
+            public TestItem read(@NonNull DataInput in) throws IOException {
+                return new TestItem(in.readUTF(), in.readUTF(), in.readUTF());
+            }
+        };
+    }
+
+    @Test
+    public void testShouldRestoreStraightToContent() {
+        ListSnapshot<TestItem> snapshot = new ListSnapshot<>(
+                500, -12, 475, new int[]{24, 25, 26}, TestItem.listOf(50)
+        );
+        byte[] bytes = snapshot.toByteArray(codec);
+
+        RecyclerView recyclerView = new RecyclerView(context);
+        recyclerView.setLayoutManager(new LinearLayoutManager(context));
+        TestAdapter adapter = new TestAdapter();
+        recyclerView.setAdapter(adapter);
+        StateLayout stateLayout = TestStateLayout.inflate(context, recyclerView);
+        assertEquals(View.GONE, recyclerView.getVisibility());
+
+        ListSnapshot<TestItem> restored = ListSnapshot.fromByteArray(bytes, codec);
+        restored.restore(stateLayout, recyclerView, adapter);
+
+        assertArrayEquals(new int[]{24, 25, 26}, restored.getPageKeys());
+        assertEquals(475, restored.getWindowStart());
+        assertEquals(50, adapter.getItemCount());
+        assertEquals(View.VISIBLE, recyclerView.getVisibility());
+        assertSame(recyclerView, stateLayout.getVisibleView());
+        assertEquals(0, stateLayout.getLoadingViewInflationCount());
+    }
+
+    @Test
+    public void testShouldNotReadCorruptCounts() throws IOException {
+        assertNull(ListSnapshot.fromByteArray(bytesWithCounts(Integer.MAX_VALUE, 0), codec));
+        assertNull(ListSnapshot.fromByteArray(bytesWithCounts(-1, 0), codec));
+        assertNull(ListSnapshot.fromByteArray(bytesWithCounts(0, Integer.MAX_VALUE), codec));
+        assertNull(ListSnapshot.fromByteArray(bytesWithCounts(0, -1), codec));
+        assertNotNull(ListSnapshot.fromByteArray(bytesWithCounts(0, 0), codec));
+    }
+
+    @After
+    public void cleanup() {
+        context = null;
+    }
+
+    private byte[] bytesWithCounts(int pageKeyCount, int itemCount) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(1);
+        out.writeInt(0);
+        out.writeInt(0);
+        out.writeInt(0);
+        out.writeInt(pageKeyCount);
+        out.writeInt(itemCount);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    static class TestAdapter extends ItemListAdapter<TestItem, RecyclerView.ViewHolder> {
+
+        @NonNull
+        @Override
+        public RecyclerView.ViewHolder onCreateItemViewHolder(@NonNull ViewGroup parent, int viewType) {
+            return new RecyclerView.ViewHolder(new View(parent.getContext())) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        }
+    }
+
+}
@@ -0,0 +1,150 @@
+package com.github.lykmapipo.listview.recyclerview;
+
+import androidx.paging.PagedList;
+
+import com.github.lykmapipo.listview.data.TaskPageKeyedDataSource;
+import com.github.lykmapipo.listview.data.TestItem;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class PredictivePrefetcherTest {
+    RecordingTarget target;
+    PredictivePrefetcher prefetcher;
+
+    @Before
+    public void setup() {
+        target = new RecordingTarget();
+        prefetcher = new PredictivePrefetcher(20, target);
+    }
+
+    @Test
+    public void testShouldRequestMinPagesAheadOnSlowScroll() {
+        prefetcher.onScrolled(0, 10, 10, 0);
+        prefetcher.onScrolled(1, 11, 10, 100);
+
+        assertEquals(1, prefetcher.getPagesAhead());
+        assertEquals(Integer.valueOf(30), target.positions.get(0));
+    }
+
+    @Test
+    public void testShouldRequestMorePagesAheadOnFling() {
+        prefetcher.onScrolled(0, 10, 10, 0);
+        prefetcher.onScrolled(40, 50, 400, 100);
+
+        assertEquals(5, prefetcher.getPagesAhead());
+        assertEquals(Integer.valueOf(150), target.positions.get(target.positions.size() - 1));
+    }
+
+    @Test
+    public void testShouldThrottleRequestsWithinHalfPage() {
+        prefetcher.onScrolled(0, 10, 10, 0);
+        prefetcher.onScrolled(1, 11, 10, 100);
+        prefetcher.onScrolled(2, 12, 10, 200);
+
+        assertEquals(1, prefetcher.getPrefetchCount());
+    }
+
+    @Test
+    public void testShouldCancelWhenDirectionReversed() {
+        prefetcher.onScrolled(40, 50, 10, 0);
+        prefetcher.onScrolled(39, 49, -10, 100);
+        assertEquals(0, target.cancelCount);
+
+        prefetcher.onScrolled(19, 29, -10, 200);
+
+        assertEquals(1, target.cancelCount);
+        assertEquals(1, prefetcher.getCancelCount());
+        assertTrue(target.positions.get(target.positions.size() - 1) < 19);
+    }
+
+    @Test
+    public void testShouldNotCancelOnReversalJitter() {
+        prefetcher.onScrolled(40, 50, 10, 0);
+        prefetcher.onScrolled(39, 49, -10, 100);
+        prefetcher.onScrolled(45, 55, 10, 200);
+        prefetcher.onScrolled(60, 70, 10, 300);
+
+        assertEquals(0, target.cancelCount);
+        assertEquals(0, prefetcher.getCancelCount());
+    }
+
+    @Test
+    public void testShouldPrefetchPastLoadedItemsWithoutPlaceholders() {
+        List<TestItem> rows = TestItem.listOf(200);
+        PagedList<TestItem> pagedList = newPagedList((page, pageSize, token) -> {
+            int from = Math.min(rows.size(), (page - 1) * pageSize);
+            int to = Math.min(rows.size(), from + pageSize);
+            return Tasks.forResult(new ArrayList<>(rows.subList(from, to)));
+        });
+        assertEquals(30, pagedList.size());
+
+        new PredictivePrefetcher.PagedListTarget<>(() -> pagedList).prefetch(100);
+
+        assertTrue(pagedList.size() > 100);
+    }
+
+    @Test
+    public void testShouldCancelAndResumeAppend() {
+        List<TaskCompletionSource<List<TestItem>>> requests = new ArrayList<>();
+        PagedList<TestItem> pagedList = newPagedList((page, pageSize, token) -> {
+            TaskCompletionSource<List<TestItem>> request = new TaskCompletionSource<>(token);
+            requests.add(request);
+            return request.getTask();
+        });
+        requests.get(0).setResult(TestItem.listOf(30));
+        PredictivePrefetcher.PagedListTarget<TestItem> pagedListTarget =
+                new PredictivePrefetcher.PagedListTarget<>(() -> pagedList);
+
+        // user scrolled away while appending
+        pagedListTarget.prefetch(60);
+        pagedListTarget.cancel();
+        assertTrue(requests.get(1).getTask().isCanceled());
+
+        // append is loaded again once needed
+        pagedListTarget.prefetch(60);
+        requests.get(2).setResult(TestItem.listOf(10));
+
+        assertEquals(40, pagedList.size());
+        assertEquals(4, requests.size());
+    }
+
+    private PagedList<TestItem> newPagedList(TaskPageKeyedDataSource.PageLoader<TestItem> pageLoader) {
+        TaskPageKeyedDataSource<TestItem> dataSource =
+                new TaskPageKeyedDataSource<>(pageLoader, null, Runnable::run);
+        PagedList.Config config = new PagedList.Config.Builder()
+                .setPageSize(10)
+                .setEnablePlaceholders(false)
+                .build();
+        return new PagedList.Builder<>(dataSource, config)
+                .setFetchExecutor(Runnable::run)
+                .setNotifyExecutor(Runnable::run)
+                .build();
+    }
+
+    static class RecordingTarget implements PredictivePrefetcher.Target {
+        final List<Integer> positions = new ArrayList<>();
+        int cancelCount = 0;
+
+        @Override
+        public void prefetch(int position) {
+            positions.add(position);
+        }
+
+        @Override
+        public void cancel() {
+            cancelCount++;
+        }
+    }
+}
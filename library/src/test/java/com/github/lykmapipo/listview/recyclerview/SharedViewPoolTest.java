@@ -0,0 +1,173 @@
+package com.github.lykmapipo.listview.recyclerview;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.github.lykmapipo.listview.R;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.lang.ref.WeakReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class SharedViewPoolTest {
+    Context context;
+
+    @Before
+    public void setup() {
+        context = new ContextThemeWrapper(
+                ApplicationProvider.getApplicationContext(),
+                R.style.Theme_MaterialComponents_Light
+        );
+    }
+
+    @Test
+    public void testShouldShareViewHoldersAcrossLists() {
+        SharedViewPool pool = SharedViewPool.of(context);
+        pool.setCapacity(0, 20);
+        assertSame(pool, SharedViewPool.of(context));
+
+        RecyclerView first = newRecyclerView(RecyclerView.VERTICAL, pool);
+        RecyclerView second = newRecyclerView(RecyclerView.VERTICAL, pool);
+        CountingAdapter firstAdapter = new CountingAdapter(ViewGroup.LayoutParams.MATCH_PARENT, 100);
+        CountingAdapter secondAdapter = new CountingAdapter(ViewGroup.LayoutParams.MATCH_PARENT, 100);
+        first.setAdapter(firstAdapter);
+        second.setAdapter(secondAdapter);
+
+        layout(first);
+        first.setAdapter(null);
+        layout(second);
+
+        assertTrue(firstAdapter.createCount > 0);
+        assertEquals(0, secondAdapter.createCount);
+        assertEquals(firstAdapter.createCount, pool.missCount(0));
+        assertEquals(firstAdapter.createCount, pool.hitCount(0));
+    }
+
+    @Test
+    public void testShouldPrefetchObservedVisibleItemsOfNestedList() {
+        SharedViewPool pool = SharedViewPool.of(context);
+        assertEquals(2, pool.getInitialPrefetchItemCount());
+
+        RecyclerView nested = newRecyclerView(RecyclerView.HORIZONTAL, null);
+        pool.attachNested(nested);
+        nested.setAdapter(new CountingAdapter(250, ViewGroup.LayoutParams.MATCH_PARENT));
+        layout(nested);
+
+        assertEquals(4, pool.getInitialPrefetchItemCount());
+        assertEquals(4, ((LinearLayoutManager) nested.getLayoutManager())
+                .getInitialPrefetchItemCount());
+
+        RecyclerView other = newRecyclerView(RecyclerView.HORIZONTAL, null);
+        pool.attachNested(other);
+        assertEquals(4, ((LinearLayoutManager) other.getLayoutManager())
+                .getInitialPrefetchItemCount());
+    }
+
+    @Test
+    public void testShouldPrefetchVisibleItemsPerNestedList() {
+        SharedViewPool pool = SharedViewPool.of(context);
+
+        RecyclerView narrow = newRecyclerView(RecyclerView.HORIZONTAL, null);
+        pool.attachNested(narrow);
+        narrow.setAdapter(new CountingAdapter(250, ViewGroup.LayoutParams.MATCH_PARENT));
+        layout(narrow);
+
+        RecyclerView wide = newRecyclerView(RecyclerView.HORIZONTAL, null);
+        pool.attachNested(wide);
+        wide.setAdapter(new CountingAdapter(500, ViewGroup.LayoutParams.MATCH_PARENT));
+        layout(wide);
+
+        assertEquals(4, pool.getInitialPrefetchItemCount());
+        assertEquals(4, ((LinearLayoutManager) narrow.getLayoutManager())
+                .getInitialPrefetchItemCount());
+        assertEquals(2, ((LinearLayoutManager) wide.getLayoutManager())
+                .getInitialPrefetchItemCount());
+    }
+
+    @Test
+    public void testShouldNotRetainNonActivityContext() {
+        Context wrapper = new ContextThemeWrapper(context, R.style.Theme_MaterialComponents_Light);
+        SharedViewPool pool = SharedViewPool.of(wrapper);
+        pool.putRecycledView(new RecyclerView.ViewHolder(new View(wrapper)) {
+        });
+        WeakReference<Context> reference = new WeakReference<>(wrapper);
+        wrapper = null;
+        pool = null;
+
+        for (int i = 0; i < 10 && reference.get() != null; i++) {
+            System.gc();
+            System.runFinalization();
+        }
+
+        assertNull(reference.get());
+    }
+
+    @After
+    public void cleanup() {
+        context = null;
+    }
+
+    private RecyclerView newRecyclerView(int orientation, SharedViewPool pool) {
+        RecyclerView recyclerView = new RecyclerView(context);
+        recyclerView.setLayoutManager(new LinearLayoutManager(context, orientation, false));
+        if (pool != null) {
+            pool.attach(recyclerView);
+        }
+        return recyclerView;
+    }
+
+    private void layout(RecyclerView recyclerView) {
+        recyclerView.measure(
+                View.MeasureSpec.makeMeasureSpec(1000, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(1000, View.MeasureSpec.EXACTLY)
+        );
+        recyclerView.layout(0, 0, 1000, 1000);
+    }
+
+    static class CountingAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+        final int width;
+        final int height;
+        int createCount = 0;
+
+        CountingAdapter(int width, int height) {
+            this.width = width;
+            this.height = height;
+        }
+
+        @NonNull
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            createCount++;
+            View view = new View(parent.getContext());
+            view.setLayoutParams(new RecyclerView.LayoutParams(width, height));
+            return new RecyclerView.ViewHolder(view) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        }
+
+        @Override
+        public int getItemCount() {
+            return 20;
+        }
+    }
+}
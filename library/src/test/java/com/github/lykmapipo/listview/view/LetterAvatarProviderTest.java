@@ -0,0 +1,80 @@
+package com.github.lykmapipo.listview.view;
+
+import android.graphics.Bitmap;
+import android.widget.ImageView;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.github.lykmapipo.listview.data.TestItem;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+@RunWith(RobolectricTestRunner.class)
+public class LetterAvatarProviderTest {
+    LetterAvatarProvider avatars;
+
+    @Before
+    public void setup() {
+        avatars = new LetterAvatarProvider(48);
+    }
+
+    @Test
+    public void testShouldReuseAvatarOfSameInitialsAndColor() {
+        Bitmap first = avatars.get(new TestItem("1", "John Doe", null));
+        Bitmap second = avatars.get(new TestItem("1", "jane  dean", null));
+
+        assertSame(first, second);
+        assertEquals(1, avatars.missCount());
+        assertEquals(1, avatars.hitCount());
+        assertEquals(48 * 48 * 4, avatars.size());
+    }
+
+    @Test
+    public void testShouldRenderAvatarPerInitials() {
+        Bitmap first = avatars.get(new TestItem("1", "John Doe", null));
+        Bitmap second = avatars.get(new TestItem("1", "John", null));
+
+        assertNotSame(first, second);
+        assertEquals(2, avatars.missCount());
+    }
+
+    @Test
+    public void testShouldNotSplitSurrogatePairs() {
+        // both share the same high surrogate
+        Bitmap first = avatars.get(new TestItem("1", "\uD835\uDC9C", null));
+        Bitmap second = avatars.get(new TestItem("1", "\uD835\uDC9E", null));
+
+        assertNotSame(first, second);
+        assertEquals(2, avatars.missCount());
+    }
+
+    @Test
+    public void testShouldBindCachedAvatar() {
+        ImageView imageView = new ImageView(ApplicationProvider.getApplicationContext());
+        TestItem item = new TestItem("1", "John Doe", null);
+
+        avatars.bind(imageView, item);
+        avatars.bind(imageView, item);
+
+        assertEquals(1, avatars.missCount());
+        assertEquals(0.5f, avatars.hitRate(), 0f);
+    }
+
+    @Test
+    public void testShouldEvictWhenOverBudget() {
+        LetterAvatarProvider small = new LetterAvatarProvider(48, 48 * 48 * 4);
+
+        small.get(new TestItem("1", "John Doe", null));
+        small.get(new TestItem("1", "Mary Jane", null));
+
+        assertEquals(48 * 48 * 4, small.size());
+        assertEquals(48 * 48 * 4, small.maxSize());
+    }
+}
@@ -0,0 +1,339 @@
+package com.github.lykmapipo.listview.view;
+
+import android.app.Activity;
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import com.github.lykmapipo.listview.R;
+import com.github.lykmapipo.listview.metrics.ListMetrics;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class StateLayoutTest {
+    static final int STATE_NO_PERMISSION = 100;
+
+    Activity activity;
+    Context context;
+
+    @Before
+    public void setup() {
+        // activity pools hold views strongly
+        activity = Robolectric.buildActivity(Activity.class).setup().get();
+        context = new ContextThemeWrapper(activity, R.style.Theme_MaterialComponents_Light);
+    }
+
+    @Test
+    public void testShouldNotInflateStateViewOnContentPath() {
+        StateLayout layout = newStateLayout();
+
+        layout.showContent();
+        layout.showLoading();
+        layout.showContent();
+
+        assertEquals(0, layout.getStateViewInflationCount());
+        assertEquals(1, layout.getLoadingViewInflationCount());
+    }
+
+    @Test
+    public void testShouldInflateStateViewOnce() {
+        StateLayout layout = newStateLayout();
+
+        layout.showEmpty();
+        layout.showError();
+        layout.showOffline();
+
+        assertEquals(1, layout.getStateViewInflationCount());
+        assertEquals(View.VISIBLE, layout.getStateView().getVisibility());
+    }
+
+    @Test
+    public void testShouldShareStateViewsThroughPool() {
+        StateLayout first = newStateLayout();
+        first.setPoolingEnabled(true);
+        first.showEmpty();
+        first.showContent();
+
+        StateLayout second = newStateLayout();
+        second.setPoolingEnabled(true);
+        second.showError();
+
+        StateViewPool pool = StateViewPool.of(context);
+        assertEquals(0, second.getStateViewInflationCount());
+        assertEquals(0, second.getLoadingViewInflationCount() + first.getLoadingViewInflationCount());
+        assertEquals(1, pool.hitCount());
+    }
+
+    @Test
+    public void testShouldKeepCustomizedViewsWithoutPooling() {
+        StateLayout first = newStateLayout();
+        first.showEmpty();
+        first.getStateView().getTitle().setVisibility(View.GONE);
+        first.showContent();
+
+        StateLayout second = newStateLayout();
+        second.showError();
+        first.showEmpty();
+
+        assertNotSame(first.getStateView(), second.getStateView());
+        assertEquals(View.GONE, first.getStateView().getTitle().getVisibility());
+        assertEquals(View.VISIBLE, second.getStateView().getTitle().getVisibility());
+        assertEquals(1, first.getStateViewInflationCount());
+    }
+
+    @Test
+    public void testShouldSkipRedundantStateUpdates() {
+        StateLayout layout = newStateLayout();
+
+        layout.showError();
+        assertEquals(5, layout.getAppliedUpdateCount());
+        assertEquals(0, layout.getSkippedUpdateCount());
+
+        layout.showError();
+        layout.showError();
+        assertEquals(5, layout.getAppliedUpdateCount());
+        assertEquals(10, layout.getSkippedUpdateCount());
+
+        layout.showEmpty();
+        assertEquals(9, layout.getAppliedUpdateCount());
+    }
+
+    @Test
+    public void testShouldShowRegisteredState() {
+        StateRegistry.register(STATE_NO_PERMISSION, new StateSpec(
+                R.string.text_error_state_title,
+                R.string.text_offline_state_message,
+                R.string.text_error_state_action_text,
+                R.drawable.ic_error
+        ));
+        StateLayout layout = newStateLayout();
+
+        layout.show(STATE_NO_PERMISSION);
+
+        assertEquals(
+                context.getString(R.string.text_offline_state_message),
+                layout.getStateView().getMessage().getText().toString()
+        );
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testShouldNotShowUnregisteredState() {
+        StateRegistry.register(STATE_NO_PERMISSION, new StateSpec(
+                R.string.text_error_state_title,
+                R.string.text_offline_state_message,
+                R.string.text_error_state_action_text,
+                R.drawable.ic_error
+        ));
+        StateRegistry.unregister(STATE_NO_PERMISSION);
+        assertNull(StateRegistry.get(STATE_NO_PERMISSION));
+
+        newStateLayout().show(STATE_NO_PERMISSION);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testShouldNotShowUnknownState() {
+        newStateLayout().show(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testShouldRecordTransitionMetrics() {
+        ListMetrics metrics = ListMetrics.getInstance();
+        metrics.setEnabled(true);
+
+        StateLayout layout = newStateLayout();
+        layout.showEmpty();
+        layout.showEmpty();
+        layout.showContent();
+
+        assertEquals(2, metrics.getTransitionLatency(StateRegistry.STATE_EMPTY).getCount());
+        assertEquals(1, metrics.getTransitionLatency(StateRegistry.STATE_CONTENT).getCount());
+        assertEquals(1, metrics.getStateViewInflationCount());
+        assertEquals(0, metrics.getLoadingViewInflationCount());
+    }
+
+    @Test
+    public void testShouldCreateInitialLoadingViewOnlyWhenShown() {
+        StateLayout layout = newStateLayout();
+        assertEquals(View.GONE, layout.getChildAt(0).getVisibility());
+        assertEquals(0, layout.getLoadingViewInflationCount());
+
+        layout.showContent();
+        activity.setContentView(layout);
+
+        assertEquals(0, layout.getLoadingViewInflationCount());
+        assertSame(layout.getChildAt(0), layout.getVisibleView());
+        assertEquals(View.VISIBLE, layout.getChildAt(0).getVisibility());
+    }
+
+    @Test
+    public void testShouldStartWithLoadingViewOnceAttached() {
+        StateLayout layout = newStateLayout();
+
+        activity.setContentView(layout);
+
+        assertTrue(layout.isAttachedToWindow());
+        assertEquals(1, layout.getLoadingViewInflationCount());
+        assertSame(layout.getLoadingView(), layout.getVisibleView());
+    }
+
+    @Test
+    public void testShouldNotRequestLayoutOnContentToContent() {
+        CountingStateLayout layout = newCountingStateLayout();
+        layout.showContent();
+        layoutPass(layout);
+
+        layout.layoutRequestCount = 0;
+        layout.showContent();
+        layout.showContent();
+
+        assertEquals(0, layout.layoutRequestCount);
+        assertSame(layout.getChildAt(0), layout.getVisibleView());
+    }
+
+    @Test
+    public void testShouldSwapLoadingAndContentByDrawing() {
+        CountingStateLayout layout = newCountingStateLayout();
+        layout.setDrawOnlySwap(true);
+        View content = layout.getChildAt(0);
+        layout.showContent();
+        layoutPass(layout);
+
+        layout.layoutRequestCount = 0;
+        layout.showLoading();
+        assertEquals(View.VISIBLE, content.getVisibility());
+        assertEquals(0f, content.getAlpha(), 0f);
+
+        layout.showContent();
+        assertEquals(1f, content.getAlpha(), 0f);
+        assertEquals(View.INVISIBLE, layout.getLoadingView().getVisibility());
+        assertEquals(0, layout.layoutRequestCount);
+        assertFalse(content.isLayoutRequested());
+    }
+
+    @Test
+    public void testShouldNotShowProgressOnFastLoad() {
+        StateLayout layout = newStateLayout();
+        LoadingView loadingView = layout.getLoadingView();
+
+        ShadowLooper.idleMainLooper(100, TimeUnit.MILLISECONDS);
+        layout.showContent();
+        ShadowLooper.idleMainLooper(1000, TimeUnit.MILLISECONDS);
+
+        assertFalse(loadingView.isProgressShown());
+        assertSame(layout.getChildAt(0), layout.getVisibleView());
+    }
+
+    @Test
+    public void testShouldKeepProgressForMinShowTime() {
+        StateLayout layout = newStateLayout();
+        LoadingView loadingView = layout.getLoadingView();
+
+        ShadowLooper.idleMainLooper(600, TimeUnit.MILLISECONDS);
+        assertTrue(loadingView.isProgressShown());
+
+        layout.showContent();
+        assertSame(loadingView, layout.getVisibleView());
+
+        ShadowLooper.idleMainLooper(500, TimeUnit.MILLISECONDS);
+        assertFalse(loadingView.isProgressShown());
+        assertSame(layout.getChildAt(0), layout.getVisibleView());
+    }
+
+    @Test
+    public void testShouldResumeProgressWhenReattachedWhileLoading() {
+        FrameLayout container = new FrameLayout(context);
+        activity.setContentView(container);
+        StateLayout layout = newStateLayout();
+        container.addView(layout);
+        LoadingView loadingView = layout.getLoadingView();
+        ShadowLooper.idleMainLooper(600, TimeUnit.MILLISECONDS);
+        assertTrue(loadingView.isProgressShown());
+
+        container.removeView(layout);
+        assertFalse(loadingView.isProgressShown());
+
+        container.addView(layout);
+        ShadowLooper.idleMainLooper(600, TimeUnit.MILLISECONDS);
+        assertTrue(loadingView.isProgressShown());
+        assertSame(loadingView, layout.getVisibleView());
+    }
+
+    @Test
+    public void testShouldResumeProgressWhenShownAgainWhileLoading() {
+        FrameLayout container = new FrameLayout(context);
+        activity.setContentView(container);
+        StateLayout layout = newStateLayout();
+        container.addView(layout);
+        LoadingView loadingView = layout.getLoadingView();
+        ShadowLooper.idleMainLooper(600, TimeUnit.MILLISECONDS);
+
+        container.setVisibility(View.GONE);
+        assertFalse(loadingView.isProgressShown());
+
+        container.setVisibility(View.VISIBLE);
+        ShadowLooper.idleMainLooper(600, TimeUnit.MILLISECONDS);
+        assertTrue(loadingView.isProgressShown());
+    }
+
+    @After
+    public void cleanup() {
+        StateRegistry.unregister(STATE_NO_PERMISSION);
+        ListMetrics.getInstance().setEnabled(false);
+        ListMetrics.getInstance().reset();
+        activity = null;
+        context = null;
+    }
+
+    private CountingStateLayout newCountingStateLayout() {
+        CountingStateLayout layout = new CountingStateLayout(context);
+        layout.addView(new View(context));
+        layout.onFinishInflate();
+        return layout;
+    }
+
+    private void layoutPass(View view) {
+        view.measure(
+                View.MeasureSpec.makeMeasureSpec(480, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(800, View.MeasureSpec.EXACTLY)
+        );
+        view.layout(0, 0, 480, 800);
+    }
+
+    private StateLayout newStateLayout() {
+        StateLayout layout = new StateLayout(context);
+        layout.addView(new View(context));
+        layout.onFinishInflate();
+        return layout;
+    }
+
+    static class CountingStateLayout extends StateLayout {
+        int layoutRequestCount = 0;
+
+        CountingStateLayout(Context context) {
+            super(context);
+        }
+
+        @Override
+        public void requestLayout() {
+            layoutRequestCount++;
+            super.requestLayout();
+        }
+    }
+}
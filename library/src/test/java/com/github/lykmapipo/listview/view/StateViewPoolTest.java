@@ -0,0 +1,96 @@
+package com.github.lykmapipo.listview.view;
+
+import android.app.Activity;
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.github.lykmapipo.listview.R;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import java.lang.ref.WeakReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(RobolectricTestRunner.class)
+public class StateViewPoolTest {
+    Context context;
+
+    @Before
+    public void setup() {
+        context = newContext();
+    }
+
+    @Test
+    public void testShouldEvictWhenFull() {
+        StateViewPool pool = StateViewPool.of(context);
+        pool.setMaxPoolSize(1);
+
+        pool.release(new StateView(context));
+        pool.release(new StateView(context));
+
+        assertEquals(1, pool.size());
+        assertEquals(1, pool.evictionCount());
+
+        pool.acquireStateView();
+        assertNull(pool.acquireStateView());
+        assertEquals(1, pool.hitCount());
+        assertEquals(1, pool.missCount());
+    }
+
+    @Test
+    public void testShouldNotRetainNonActivityContext() {
+        Context wrapper = new ContextThemeWrapper(
+                ApplicationProvider.getApplicationContext(),
+                R.style.Theme_MaterialComponents_Light
+        );
+        StateViewPool.of(wrapper).release(new StateView(wrapper));
+        WeakReference<Context> reference = new WeakReference<>(wrapper);
+        wrapper = null;
+
+        for (int i = 0; i < 10 && reference.get() != null; i++) {
+            System.gc();
+            System.runFinalization();
+        }
+
+        assertNull(reference.get());
+    }
+
+    @Test
+    public void testShouldWarmUpPool() {
+        StateViewPool.setWarmUpExecutor(Runnable::run);
+        StateViewPool.warmUp(context, 1, 1);
+
+        StateLayout layout = TestStateLayout.inflate(context, new View(context));
+        layout.setPoolingEnabled(true);
+        layout.showLoading();
+        layout.showEmpty();
+
+        assertEquals(2, StateViewPool.of(context).warmUpCount());
+        assertEquals(0, layout.getStateViewInflationCount());
+        assertEquals(0, layout.getLoadingViewInflationCount());
+    }
+
+    @After
+    public void cleanup() {
+        StateViewPool.setWarmUpExecutor(null);
+        context = null;
+    }
+
+    private Context newContext() {
+        return new ContextThemeWrapper(
+                Robolectric.buildActivity(Activity.class).setup().get(),
+                R.style.Theme_MaterialComponents_Light
+        );
+    }
+
+}
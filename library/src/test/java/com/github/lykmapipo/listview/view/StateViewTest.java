@@ -0,0 +1,111 @@
+package com.github.lykmapipo.listview.view;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.github.lykmapipo.listview.R;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class StateViewTest {
+    Context context;
+
+    @Before
+    public void setup() {
+        context = new ContextThemeWrapper(
+                ApplicationProvider.getApplicationContext(),
+                R.style.Theme_MaterialComponents_Light
+        );
+    }
+
+    @Test
+    public void testShouldInflateFlatHierarchy() {
+        StateView stateView = new StateView(context);
+
+        assertEquals(1, depthOf(stateView));
+        assertEquals(4, stateView.getChildCount());
+        assertSame(stateView, stateView.getTitle().getParent());
+    }
+
+    @Test
+    public void testShouldBuildFlatHierarchyInCode() {
+        StateView stateView = new StateView(context, true);
+
+        assertEquals(1, depthOf(stateView));
+        assertEquals(4, stateView.getChildCount());
+        assertSame(stateView, stateView.getAction().getParent());
+        assertEquals(View.GONE, stateView.getAction().getVisibility());
+    }
+
+    @Test
+    public void testShouldCacheStateImages() {
+        DrawableCache cache = DrawableCache.getInstance(context);
+        cache.clear();
+        int misses = cache.missCount();
+        StateView stateView = new StateView(context);
+
+        stateView.setImage(R.drawable.ic_error);
+        stateView.setImage(R.drawable.ic_offline);
+        stateView.setImage(R.drawable.ic_error);
+
+        assertEquals(misses + 2, cache.missCount());
+        assertTrue(cache.size() > 0);
+
+        cache.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testShouldKeyStateImagesByThemeStyle() {
+        DrawableCache cache = DrawableCache.getInstance(context);
+        cache.clear();
+        int misses = cache.missCount();
+        Context light = new ContextThemeWrapper(
+                ApplicationProvider.getApplicationContext(),
+                R.style.Theme_MaterialComponents_Light
+        );
+        Context dark = new ContextThemeWrapper(
+                ApplicationProvider.getApplicationContext(),
+                R.style.Theme_MaterialComponents
+        );
+
+        cache.get(context, R.drawable.ic_error, 48, 48);
+        cache.get(light, R.drawable.ic_error, 48, 48);
+        assertEquals(misses + 1, cache.missCount());
+
+        cache.get(dark, R.drawable.ic_error, 48, 48);
+        assertEquals(misses + 2, cache.missCount());
+    }
+
+    @After
+    public void cleanup() {
+        context = null;
+    }
+
+    private int depthOf(View view) {
+        if (!(view instanceof ViewGroup)) {
+            return 0;
+        }
+        int depth = 0;
+        ViewGroup group = (ViewGroup) view;
+        for (int i = 0; i < group.getChildCount(); i++) {
+            depth = Math.max(depth, depthOf(group.getChildAt(i)));
+        }
+        return depth + 1;
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.github.lykmapipo.listview.view;
+
+import android.content.Context;
+import android.view.View;
+
+public final class TestStateLayout {
+
+    private TestStateLayout() {
+    }
+
+    public static StateLayout inflate(Context context, View content) {
+        return inflate(new StateLayout(context), content);
+    }
+
+    public static <T extends StateLayout> T inflate(T layout, View content) {
+        layout.addView(content);
+        layout.onFinishInflate();
+        return layout;
+    }
+}